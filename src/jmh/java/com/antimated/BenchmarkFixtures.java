@@ -0,0 +1,137 @@
+package com.antimated;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.EnumSet;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.WorldType;
+
+/**
+ * Builds the plugin and its collaborators without starting RuneLite, so the hot paths can be benchmarked.
+ */
+public final class BenchmarkFixtures
+{
+	private BenchmarkFixtures()
+	{
+	}
+
+	/**
+	 * A client logged in to a standard world, outside of LMS. Any other call returns a default value.
+	 *
+	 * @return Client
+	 */
+	public static Client stubClient()
+	{
+		final EnumSet<WorldType> worldTypes = EnumSet.noneOf(WorldType.class);
+
+		return (Client) Proxy.newProxyInstance(Client.class.getClassLoader(), new Class[]{Client.class}, (proxy, method, args) -> {
+			switch (method.getName())
+			{
+				case "getGameState":
+					return GameState.LOGGED_IN;
+				case "getWorldType":
+					return worldTypes;
+				case "getTotalLevel":
+					return 1500;
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "equals":
+					return proxy == args[0];
+				case "toString":
+					return "StubClient";
+			}
+
+			return defaultValue(method.getReturnType());
+		});
+	}
+
+	/**
+	 * A config that answers every item with its default value.
+	 *
+	 * @param type config interface
+	 * @return T
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T defaultConfig(Class<T> type)
+	{
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, (proxy, method, args) -> {
+			if (method.isDefault())
+			{
+				return MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+					.unreflectSpecial(method, type)
+					.bindTo(proxy)
+					.invokeWithArguments(args == null ? new Object[0] : args);
+			}
+
+			return defaultValue(method.getReturnType());
+		});
+	}
+
+	/**
+	 * Sets a private, normally injected, field.
+	 */
+	public static void inject(Object target, String name, Object value) throws ReflectiveOperationException
+	{
+		final Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+
+	/**
+	 * Calls a private no-argument method.
+	 */
+	public static void call(Object target, String name) throws ReflectiveOperationException
+	{
+		final Method method = target.getClass().getDeclaredMethod(name);
+		method.setAccessible(true);
+		method.invoke(target);
+	}
+
+	private static Object defaultValue(Class<?> type)
+	{
+		if (!type.isPrimitive() || type == void.class)
+		{
+			return null;
+		}
+
+		if (type == boolean.class)
+		{
+			return false;
+		}
+
+		if (type == long.class)
+		{
+			return 0L;
+		}
+
+		if (type == float.class)
+		{
+			return 0f;
+		}
+
+		if (type == double.class)
+		{
+			return 0d;
+		}
+
+		if (type == char.class)
+		{
+			return '\0';
+		}
+
+		if (type == byte.class)
+		{
+			return (byte) 0;
+		}
+
+		if (type == short.class)
+		{
+			return (short) 0;
+		}
+
+		return 0;
+	}
+}
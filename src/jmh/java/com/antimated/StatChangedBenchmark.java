@@ -0,0 +1,198 @@
+package com.antimated;
+
+import com.antimated.account.AccountStateManager;
+import com.antimated.eligibility.EligibilityManager;
+import com.antimated.notifications.NotificationManager;
+import com.antimated.stats.MilestoneStats;
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+import net.runelite.api.events.StatChanged;
+import net.runelite.client.eventbus.EventBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures MilestoneLevelsPlugin.onStatChanged for a realistic mix of events.
+ * <p>
+ * Without a crossing an operation posts the next of a ring of ever higher xp drops, all of them below the next
+ * milestone, so it measures the threshold fast path. Only wrapping around the ring drops the xp back down, once every
+ * {@value #RISING_EVENTS} operations. A crossing can't be repeated without dropping the xp again, so those operations
+ * first post the "before" stat of each event followed by the "after" stat which is the event being measured. Both take
+ * the slow path, a crossing always does. The starting xp is posted again before every iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatChangedBenchmark
+{
+	// A power of two, each one 100 xp higher than the last, 409,600 xp in total stays below level 80
+	private static final int RISING_EVENTS = 4096;
+
+	private static final int RISING_STEP = 100;
+
+	public enum Scenario
+	{
+		// A regular xp drop that crosses no milestone
+		NO_CROSSING,
+		// Level 49 to 50
+		SINGLE_LEVEL,
+		// An xp lamp or quest reward jumping from level 1 to 99
+		MULTI_LEVEL,
+		// The developer setstats command, every skill from level 1 to 99
+		SETSTATS_BURST
+	}
+
+	@Param
+	private Scenario scenario;
+
+	private MilestoneLevelsPlugin plugin;
+
+	private NotificationManager notifications;
+
+	private StatChanged[] before;
+
+	private StatChanged[] after;
+
+	// Only without a crossing, the xp drops posted in turn
+	private StatChanged[] rising;
+
+	private int next;
+
+	@Setup
+	public void setUp() throws ReflectiveOperationException
+	{
+		final MilestoneStats stats = new MilestoneStats();
+		final EligibilityManager eligibility = new EligibilityManager();
+		notifications = new NotificationManager();
+		plugin = new MilestoneLevelsPlugin();
+
+		BenchmarkFixtures.inject(notifications, "stats", stats);
+		BenchmarkFixtures.inject(notifications, "eventBus", new EventBus());
+		BenchmarkFixtures.inject(eligibility, "client", BenchmarkFixtures.stubClient());
+		eligibility.refresh();
+
+		BenchmarkFixtures.inject(plugin, "client", BenchmarkFixtures.stubClient());
+		BenchmarkFixtures.inject(plugin, "config", BenchmarkFixtures.defaultConfig(MilestoneLevelsConfig.class));
+		BenchmarkFixtures.inject(plugin, "notifications", notifications);
+		BenchmarkFixtures.inject(plugin, "stats", stats);
+		BenchmarkFixtures.inject(plugin, "eligibility", eligibility);
+		BenchmarkFixtures.inject(plugin, "accounts", new AccountStateManager());
+		BenchmarkFixtures.call(plugin, "rebuildSettings");
+
+		switch (scenario)
+		{
+			case NO_CROSSING:
+				rising(Skill.WOODCUTTING, 1_500_000);
+				break;
+			case SINGLE_LEVEL:
+				events(Skill.MINING, Experience.getXpForLevel(50) - 10, Experience.getXpForLevel(50));
+				break;
+			case MULTI_LEVEL:
+				events(Skill.ATTACK, 0, Experience.getXpForLevel(Experience.MAX_REAL_LEVEL));
+				break;
+			case SETSTATS_BURST:
+				burst(Experience.getXpForLevel(1), Experience.getXpForLevel(Experience.MAX_REAL_LEVEL));
+				break;
+		}
+
+		resetXp();
+
+		// Make sure operations measure what the scenario claims, a whole ring or twice in case the first one primes anything
+		final int operations = rising != null ? RISING_EVENTS : 2;
+
+		for (int i = 0; i < operations; i++)
+		{
+			final long milestones = stats.getTotalMilestones();
+			onStatChanged();
+
+			if ((stats.getTotalMilestones() > milestones) != (scenario != Scenario.NO_CROSSING))
+			{
+				throw new IllegalStateException("Scenario " + scenario + " crossed " + (stats.getTotalMilestones() - milestones) + " milestones");
+			}
+		}
+	}
+
+	/**
+	 * Lets the plugin learn the starting xp of every skill again.
+	 */
+	@Setup(Level.Iteration)
+	public void resetXp()
+	{
+		for (StatChanged statChanged : before)
+		{
+			plugin.onStatChanged(statChanged);
+		}
+
+		next = 0;
+	}
+
+	@Benchmark
+	public void onStatChanged()
+	{
+		if (rising != null)
+		{
+			plugin.onStatChanged(rising[next]);
+			next = (next + 1) & (RISING_EVENTS - 1);
+			return;
+		}
+
+		for (int i = 0; i < after.length; i++)
+		{
+			plugin.onStatChanged(before[i]);
+			plugin.onStatChanged(after[i]);
+		}
+
+		// Keep the queue from growing for the duration of the run
+		notifications.clearNotifications();
+	}
+
+	private void rising(Skill skill, int fromXp)
+	{
+		before = new StatChanged[]{statChanged(skill, fromXp)};
+		rising = new StatChanged[RISING_EVENTS];
+
+		for (int i = 0; i < RISING_EVENTS; i++)
+		{
+			rising[i] = statChanged(skill, fromXp + (i + 1) * RISING_STEP);
+		}
+	}
+
+	private void events(Skill skill, int fromXp, int toXp)
+	{
+		before = new StatChanged[]{statChanged(skill, fromXp)};
+		after = new StatChanged[]{statChanged(skill, toXp)};
+	}
+
+	private void burst(int fromXp, int toXp)
+	{
+		final Skill[] skills = Skill.values();
+		before = new StatChanged[skills.length];
+		after = new StatChanged[skills.length];
+
+		for (Skill skill : skills)
+		{
+			before[skill.ordinal()] = statChanged(skill, fromXp);
+			after[skill.ordinal()] = statChanged(skill, toXp);
+		}
+	}
+
+	private static StatChanged statChanged(Skill skill, int xp)
+	{
+		final int level = Experience.getLevelForXp(xp);
+		return new StatChanged(skill, xp, level, level);
+	}
+}
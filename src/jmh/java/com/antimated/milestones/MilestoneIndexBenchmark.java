@@ -0,0 +1,67 @@
+package com.antimated.milestones;
+
+import com.antimated.BenchmarkFixtures;
+import com.antimated.MilestoneLevelsConfig;
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.Skill;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures looking up the crossed level and xp milestones, the replacement of getMilestoneLevels and
+ * getMilestoneExperience, as well as compiling the index when the config changes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MilestoneIndexBenchmark
+{
+	private static final int SLAYER = Skill.SLAYER.ordinal();
+
+	private MilestoneLevelsConfig config;
+
+	private MilestoneIndex index;
+
+	@Setup
+	public void setUp()
+	{
+		config = BenchmarkFixtures.defaultConfig(MilestoneLevelsConfig.class);
+		index = MilestoneIndex.compile(config.showOnLevels(), config.showOnExperience(), "Slayer: every 1\nSlayer xp: every 1000000");
+	}
+
+	@Benchmark
+	public void milestoneLevels(Blackhole blackhole)
+	{
+		for (int level = index.nextLevel(SLAYER, 1); level <= 60; level = index.nextLevel(SLAYER, level))
+		{
+			blackhole.consume(level);
+		}
+	}
+
+	@Benchmark
+	public void milestoneExperience(Blackhole blackhole)
+	{
+		for (int xp = index.nextExperience(SLAYER, 13_034_431); xp <= 52_000_000; xp = index.nextExperience(SLAYER, xp))
+		{
+			blackhole.consume(xp);
+		}
+	}
+
+	@Benchmark
+	public MilestoneIndex compile()
+	{
+		return MilestoneIndex.compile(config.showOnLevels(), config.showOnExperience(), config.skillOverrides());
+	}
+}
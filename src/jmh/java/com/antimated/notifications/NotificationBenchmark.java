@@ -0,0 +1,115 @@
+package com.antimated.notifications;
+
+import com.antimated.BenchmarkFixtures;
+import com.antimated.EvictionPolicy;
+import com.antimated.MilestoneLevelsConfig;
+import com.antimated.milestones.MilestoneSettings;
+import com.antimated.stats.MilestoneStats;
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.Skill;
+import net.runelite.client.eventbus.EventBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures rendering the notification templates and queued milestone facts, and handing facts through the ring and queue.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationBenchmark
+{
+	private final StringBuilder buffer = new StringBuilder();
+
+	private NotificationTemplate levelText;
+
+	private NotificationTemplate experienceText;
+
+	private NotificationManager notifications;
+
+	private NotificationRing ring;
+
+	private NotificationQueue queue;
+
+	private NotificationRing.Sink enqueue;
+
+	private final MilestoneRenderer renderer = new MilestoneRenderer();
+
+	private final Notification notification = new Notification();
+
+	private final long[] entry = new long[2];
+
+	private MilestoneSettings settings;
+
+	private long fact;
+
+	private int queued;
+
+	@Setup
+	public void setUp() throws ReflectiveOperationException
+	{
+		final MilestoneLevelsConfig config = BenchmarkFixtures.defaultConfig(MilestoneLevelsConfig.class);
+		levelText = NotificationTemplate.compile(config.notificationLevelText());
+		experienceText = NotificationTemplate.compile(config.notificationExperienceText());
+		notifications = new NotificationManager();
+		BenchmarkFixtures.inject(notifications, "stats", new MilestoneStats());
+		BenchmarkFixtures.inject(notifications, "eventBus", new EventBus());
+		ring = new NotificationRing(256, false);
+		queue = new NotificationQueue(256, EvictionPolicy.DROP_LOWEST_PRIORITY, 0);
+		enqueue = queue::offer;
+		settings = MilestoneSettings.fromConfig(config);
+		fact = MilestoneFact.level(Skill.SLAYER.ordinal(), 99, NotificationPriority.HIGH, 2_000);
+	}
+
+	@Benchmark
+	public String renderLevel()
+	{
+		return levelText.render(buffer, Skill.SLAYER, 99, 13_034_431, 2_000);
+	}
+
+	@Benchmark
+	public String renderExperience()
+	{
+		return experienceText.render(buffer, Skill.SLAYER, 99, 50_000_000, 2_000);
+	}
+
+	@Benchmark
+	public void addMilestone()
+	{
+		notifications.addMilestone(fact);
+
+		// Keep the ring from filling up for the duration of the run
+		if (++queued == 128)
+		{
+			notifications.clearNotifications();
+			queued = 0;
+		}
+	}
+
+	@Benchmark
+	public long offerDrainPoll()
+	{
+		ring.offer(fact);
+		ring.drainTo(enqueue);
+		queue.poll(entry);
+		return entry[NotificationQueue.FACT];
+	}
+
+	@Benchmark
+	public String renderFact()
+	{
+		renderer.render(fact, settings, notification);
+		return notification.getText();
+	}
+}
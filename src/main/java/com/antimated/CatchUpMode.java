@@ -0,0 +1,21 @@
+package com.antimated;
+
+public enum CatchUpMode
+{
+	OFF("Off"),
+	SUMMARY("Single notification"),
+	PER_SKILL("One per skill");
+
+	private final String name;
+
+	CatchUpMode(String name)
+	{
+		this.name = name;
+	}
+
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+}
@@ -0,0 +1,21 @@
+package com.antimated;
+
+public enum CoalesceMode
+{
+	OFF("Off"),
+	PER_EVENT("Per xp drop"),
+	PER_TICK("Per game tick");
+
+	private final String name;
+
+	CoalesceMode(String name)
+	{
+		this.name = name;
+	}
+
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+}
@@ -0,0 +1,21 @@
+package com.antimated;
+
+public enum EvaluationMode
+{
+	CLIENT_THREAD("On every stat change"),
+	PER_TICK("Batched per game tick"),
+	WORKER_THREAD("On a background thread");
+
+	private final String name;
+
+	EvaluationMode(String name)
+	{
+		this.name = name;
+	}
+
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+}
@@ -0,0 +1,20 @@
+package com.antimated;
+
+public enum EvictionPolicy
+{
+	DROP_LOWEST_PRIORITY("Drop lowest priority"),
+	DROP_OLDEST("Drop oldest");
+
+	private final String name;
+
+	EvictionPolicy(String name)
+	{
+		this.name = name;
+	}
+
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+}
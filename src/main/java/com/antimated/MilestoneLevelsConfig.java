@@ -5,12 +5,26 @@ import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
 import net.runelite.client.config.ConfigSection;
+import net.runelite.client.config.Range;
+import net.runelite.client.config.Units;
 import net.runelite.client.ui.JagexColors;
 
 @ConfigGroup(MilestoneLevelsConfig.CONFIG_GROUP)
 public interface MilestoneLevelsConfig extends Config
 {
 	String CONFIG_GROUP = "milestoneLevels";
+
+	@ConfigItem(
+		keyName = "allowedWorlds",
+		name = "Worlds",
+		description = "World types to show notifications on. Milestones are never shown in LMS.",
+		position = 0
+	)
+	default WorldPolicy allowedWorlds()
+	{
+		return WorldPolicy.STANDARD;
+	}
+
 	@ConfigSection(
 		name = "Levels",
 		description = "All level notification settings.",
@@ -33,7 +47,7 @@ public interface MilestoneLevelsConfig extends Config
 	@ConfigItem(
 		keyName = "notificationLevelTitle",
 		name = "Title",
-		description = "Can include $level and $skill variables.",
+		description = "Can include $level, $skill, $totalLevel, $nextLevel and $xpToNext variables.",
 		section = SECTION_LEVELS,
 		position = 1
 	)
@@ -45,7 +59,7 @@ public interface MilestoneLevelsConfig extends Config
 	@ConfigItem(
 		keyName = "notificationLevelText",
 		name = "Text",
-		description = "Can include $level and $skill variables.",
+		description = "Can include $level, $skill, $totalLevel, $nextLevel and $xpToNext variables.",
 		section = SECTION_LEVELS,
 		position = 2
 	)
@@ -57,7 +71,7 @@ public interface MilestoneLevelsConfig extends Config
 	@ConfigItem(
 		keyName = "showOnLevels",
 		name = "Levels",
-		description = "Configures levels to display notifications on, comma separated.",
+		description = "Configures levels to display notifications on, comma separated. Supports ranges like 70-99, steps like 10-90 step 10 and every 5.",
 		section = SECTION_LEVELS,
 		position = 3
 	)
@@ -100,7 +114,7 @@ public interface MilestoneLevelsConfig extends Config
 	@ConfigItem(
 		keyName = "notificationExperienceTitle",
 		name = "Title",
-		description = "Can include $xp and $skill variables.",
+		description = "Can include $xp, $skill, $level, $totalLevel, $nextLevel and $xpToNext variables.",
 		section = SECTION_EXPERIENCE,
 		position = 1
 	)
@@ -112,7 +126,7 @@ public interface MilestoneLevelsConfig extends Config
 	@ConfigItem(
 		keyName = "notificationExperienceText",
 		name = "Text",
-		description = "Can include $xp and $skill variables.",
+		description = "Can include $xp, $skill, $level, $totalLevel, $nextLevel and $xpToNext variables.",
 		section = SECTION_EXPERIENCE,
 		position = 2
 	)
@@ -124,13 +138,246 @@ public interface MilestoneLevelsConfig extends Config
 	@ConfigItem(
 		keyName = "showOnExperience",
 		name = "Experience",
-		description = "Configures xp to display notifications on, comma separated.",
+		description = "Configures xp to display notifications on, comma separated. Supports ranges with steps like 5000000-100000000 step 5000000 and every 5000000 xp.",
 		section = SECTION_EXPERIENCE,
 		position = 3
 	)
 	default String showOnExperience()
 	{
-		return "1000000, 5000000, 10000000, 15000000, 20000000, 25000000, 30000000, 35000000, 40000000, 45000000, 50000000, 55000000, 60000000, 65000000, 70000000, 75000000, 80000000, 85000000, 90000000, 95000000, 100000000, 125000000, 150000000, 200000000";
+		return "1000000, 5000000-100000000 step 5000000, 125000000, 150000000, 200000000";
+	}
+
+	@ConfigSection(
+		name = "Coalescing",
+		description = "Merge bursts of milestones, e.g. from xp lamps or quest rewards, into a single notification.",
+		position = 250
+	)
+	String SECTION_COALESCING = "coalescing";
+
+	@ConfigItem(
+		keyName = "coalesceMode",
+		name = "Mode",
+		description = "Merge the milestones of a skill crossed by the same xp drop, or in the same game tick, into one summary notification.",
+		section = SECTION_COALESCING,
+		position = 0
+	)
+	default CoalesceMode coalesceMode()
+	{
+		return CoalesceMode.OFF;
+	}
+
+	@Range(
+		min = 2
+	)
+	@ConfigItem(
+		keyName = "coalesceThreshold",
+		name = "Threshold",
+		description = "Minimum amount of milestones of a skill before they are merged into a summary.",
+		section = SECTION_COALESCING,
+		position = 1
+	)
+	default int coalesceThreshold()
+	{
+		return 3;
+	}
+
+	@ConfigItem(
+		keyName = "notificationSummaryTitle",
+		name = "Title",
+		description = "Title of the summary notification, can include $level, $skill and $totalLevel variables.",
+		section = SECTION_COALESCING,
+		position = 2
+	)
+	default String notificationSummaryTitle()
+	{
+		return "Milestones reached";
+	}
+
+	@ConfigItem(
+		keyName = "catchUpMode",
+		name = "While you were away",
+		description = "How milestones reached while logged out, e.g. on another client, are shown when logging in.",
+		section = SECTION_COALESCING,
+		position = 3
+	)
+	default CatchUpMode catchUpMode()
+	{
+		return CatchUpMode.OFF;
+	}
+
+	@ConfigItem(
+		keyName = "notificationCatchUpTitle",
+		name = "While you were away title",
+		description = "Title of the while you were away notification, can include $level, $skill and $totalLevel variables.",
+		section = SECTION_COALESCING,
+		position = 4
+	)
+	default String notificationCatchUpTitle()
+	{
+		return "While you were away";
+	}
+
+	@ConfigSection(
+		name = "Outputs",
+		description = "Where milestones are announced.",
+		position = 265
+	)
+	String SECTION_OUTPUTS = "outputs";
+
+	@ConfigItem(
+		keyName = "showNotificationWidget",
+		name = "In-game notification",
+		description = "Shows milestones in the in-game notification popup.",
+		section = SECTION_OUTPUTS,
+		position = 0
+	)
+	default boolean showNotificationWidget()
+	{
+		return true;
+	}
+
+	@ConfigItem(
+		keyName = "sendChatMessage",
+		name = "Chat message",
+		description = "Also announces milestones in the chatbox.",
+		section = SECTION_OUTPUTS,
+		position = 1
+	)
+	default boolean sendChatMessage()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		keyName = "sendDesktopNotification",
+		name = "Desktop notification",
+		description = "Also sends milestones as a RuneLite notification, following RuneLite's notification settings.",
+		section = SECTION_OUTPUTS,
+		position = 2
+	)
+	default boolean sendDesktopNotification()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		keyName = "playSound",
+		name = "Sound",
+		description = "Also plays a sound effect on milestones, a different one for 99s and 200M xp.",
+		section = SECTION_OUTPUTS,
+		position = 3
+	)
+	default boolean playSound()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		keyName = "screenshotMode",
+		name = "Screenshot",
+		description = "Saves a screenshot of the game on milestones, in the screenshots folder of the account.",
+		section = SECTION_OUTPUTS,
+		position = 4
+	)
+	default ScreenshotMode screenshotMode()
+	{
+		return ScreenshotMode.OFF;
+	}
+
+	@ConfigItem(
+		keyName = "webhookUrl",
+		name = "Webhook URL",
+		description = "Also posts milestones to this webhook, e.g. a Discord channel webhook. Leave empty to disable.",
+		section = SECTION_OUTPUTS,
+		position = 5
+	)
+	default String webhookUrl()
+	{
+		return "";
+	}
+
+	@Range(
+		max = 60
+	)
+	@Units(Units.SECONDS)
+	@ConfigItem(
+		keyName = "webhookBatchWindow",
+		name = "Webhook batch window",
+		description = "Milestones reached within this time are posted to the webhook together, in a single message.",
+		section = SECTION_OUTPUTS,
+		position = 6
+	)
+	default int webhookBatchWindow()
+	{
+		return 2;
+	}
+
+	@ConfigSection(
+		name = "Queue",
+		description = "Limits on notifications waiting to be displayed.",
+		position = 275
+	)
+	String SECTION_QUEUE = "queue";
+
+	@Range(
+		min = 1,
+		max = 500
+	)
+	@ConfigItem(
+		keyName = "notificationQueueCapacity",
+		name = "Capacity",
+		description = "Maximum amount of notifications waiting to be displayed.",
+		section = SECTION_QUEUE,
+		position = 0
+	)
+	default int notificationQueueCapacity()
+	{
+		return 50;
+	}
+
+	@ConfigItem(
+		keyName = "notificationEvictionPolicy",
+		name = "When full",
+		description = "Which notification to drop when the queue is full. 99s and 200M xp have the highest priority, followed by levels and then xp milestones.",
+		section = SECTION_QUEUE,
+		position = 1
+	)
+	default EvictionPolicy notificationEvictionPolicy()
+	{
+		return EvictionPolicy.DROP_LOWEST_PRIORITY;
+	}
+
+	@Units(Units.SECONDS)
+	@ConfigItem(
+		keyName = "notificationTimeToLive",
+		name = "Expire after",
+		description = "Drop notifications that waited longer than this to be displayed, 0 to never expire.",
+		section = SECTION_QUEUE,
+		position = 2
+	)
+	default int notificationTimeToLive()
+	{
+		return 300;
+	}
+
+	@ConfigSection(
+		name = "Performance",
+		description = "When and where milestones are evaluated.",
+		position = 285,
+		closedByDefault = true
+	)
+	String SECTION_PERFORMANCE = "performance";
+
+	@ConfigItem(
+		keyName = "evaluationMode",
+		name = "Evaluate milestones",
+		description = "On every stat change, batched per game tick (cheaper on login and multi-skill xp drops, notifications may show up a game tick later), or on a background thread (per game tick coalescing merges per xp drop instead).",
+		section = SECTION_PERFORMANCE,
+		position = 0
+	)
+	default EvaluationMode evaluationMode()
+	{
+		return EvaluationMode.CLIENT_THREAD;
 	}
 
 	@ConfigSection(
@@ -404,4 +651,15 @@ public interface MilestoneLevelsConfig extends Config
 	{
 		return true;
 	}
+
+	@ConfigItem(
+		keyName = "skillOverrides",
+		name = "Per-skill milestones",
+		description = "Overrides the levels or xp of a skill, one per line. E.g. \"Slayer: every 1\" for every Slayer level, \"Attack: 99\" for only 99 Attack and \"Slayer xp: every 1000000\" for every 1M Slayer xp.",
+		section = SECTION_SKILLS
+	)
+	default String skillOverrides()
+	{
+		return "";
+	}
 }
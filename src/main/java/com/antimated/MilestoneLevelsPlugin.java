@@ -1,33 +1,47 @@
 package com.antimated;
 
+import com.antimated.account.AccountStateManager;
+import com.antimated.eligibility.EligibilityManager;
+import com.antimated.milestones.MilestoneBuffer;
+import com.antimated.milestones.MilestoneCoalescer;
+import com.antimated.milestones.MilestoneEngine;
+import com.antimated.milestones.MilestoneSettings;
+import com.antimated.milestones.SkillStateTable;
+import com.antimated.milestones.StatChangeBatch;
+import com.antimated.notifications.CatchUpSummary;
+import com.antimated.notifications.MilestonePublisher;
 import com.antimated.notifications.NotificationManager;
-import com.antimated.util.Util;
+import com.antimated.notifications.OutputSettings;
+import com.antimated.screenshots.ScreenshotManager;
+import com.antimated.state.MigrationRunner;
+import com.antimated.state.PluginStateStore;
+import com.antimated.stats.MilestoneStats;
+import com.antimated.stats.MilestoneStatsOverlay;
 import com.antimated.version.VersionManager;
+import com.antimated.webhook.WebhookSink;
 import com.google.common.primitives.Ints;
 import com.google.inject.Provides;
-import java.util.EnumMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.inject.Inject;
 import javax.inject.Named;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
 import net.runelite.api.Experience;
 import net.runelite.api.GameState;
 import net.runelite.api.Skill;
 import net.runelite.api.events.CommandExecuted;
 import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
 import net.runelite.api.events.StatChanged;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
-import net.runelite.client.util.QuantityFormatter;
-import net.runelite.client.util.Text;
+import net.runelite.client.ui.overlay.OverlayManager;
 
 @Slf4j
 @PluginDescriptor(
@@ -56,13 +70,63 @@ public class MilestoneLevelsPlugin extends Plugin
 	private VersionManager version;
 
 	@Inject
-	private ConfigManager configManager;
+	private ScreenshotManager screenshots;
+
+	@Inject
+	private WebhookSink webhook;
+
+	@Inject
+	private EligibilityManager eligibility;
+
+	@Inject
+	private AccountStateManager accounts;
+
+	@Inject
+	private PluginStateStore store;
+
+	@Inject
+	private MigrationRunner migrations;
+
+	@Inject
+	private OverlayManager overlayManager;
+
+	@Inject
+	private MilestoneStats stats;
+
+	@Inject
+	private MilestoneStatsOverlay statsOverlay;
 
 	@Inject
 	@Named("developerMode")
 	boolean developerMode;
 
-	private final Map<Skill, Integer> previousXpMap = new EnumMap<>(Skill.class);
+	// Only used on the client thread
+	private final MilestoneEngine engine = new MilestoneEngine(Skill.values().length);
+
+	// Only used on the client thread
+	private final MilestoneBuffer milestoneBuffer = new MilestoneBuffer();
+
+	// Only used on the client thread
+	private final MilestoneCoalescer coalescer = new MilestoneCoalescer(Skill.values().length);
+
+	// Only used on the client thread
+	private final StatChangeBatch statBatch = new StatChangeBatch(Skill.values().length);
+
+	// Only used on the client thread
+	private final MilestoneCoalescer awayMilestones = new MilestoneCoalescer(Skill.values().length);
+
+	// Only used on the client thread
+	private final CatchUpSummary catchUpSummary = new CatchUpSummary();
+
+	// Set on login until the milestones reached while logged out have been collected
+	private boolean catchUpPending;
+
+	// Only used on the client thread
+	private final MilestonePublisher publisher = new MilestonePublisher(this::publish);
+
+	private final AtomicReference<MilestoneSettings> settings = new AtomicReference<>(MilestoneSettings.DISABLED);
+
+	private MilestonePipeline pipeline;
 
 	@Provides
 	MilestoneLevelsConfig provideConfig(ConfigManager configManager)
@@ -73,313 +137,380 @@ public class MilestoneLevelsPlugin extends Plugin
 	@Override
 	protected void startUp()
 	{
-		clientThread.invoke(this::initializePreviousXpMap);
+		final long start = System.nanoTime();
+		store.load();
+
+		// Settings are read from the migrated keys
+		final long migrateStart = System.nanoTime();
+		migrate();
+		logStartupTime("migrate", migrateStart);
+
+		rebuildSettings();
+		pipeline = new MilestonePipeline(settings, notifications, stats);
+		clientThread.invoke(() -> {
+			final long initializeStart = System.nanoTime();
+			initializeSkillStates();
+			logStartupTime("initializeSkillStates", initializeStart);
+		});
+		eligibility.startUp();
 		notifications.startUp();
+		screenshots.startUp();
+		notifications.addSink(screenshots);
+		webhook.startUp();
+		notifications.addSink(webhook);
 		version.startUp();
-		migrate();
+
+		logStartupTime("startUp", start);
 	}
 
 	@Override
 	protected void shutDown()
 	{
-		previousXpMap.clear();
+		clientThread.invoke(() -> {
+			engine.setSkillStates(accounts.detach());
+			accounts.clear();
+		});
+		coalescer.clear();
+		statBatch.clear();
+		settings.set(MilestoneSettings.DISABLED);
+		pipeline.shutDown();
+		eligibility.shutDown();
 		notifications.shutDown();
+		screenshots.shutDown();
+		webhook.shutDown();
 		version.shutDown();
+		store.shutDown();
+		overlayManager.remove(statsOverlay);
 	}
 
 	@Subscribe
 	public void onGameStateChanged(GameStateChanged gameStateChanged)
 	{
-		// Clear previous XP when not logged in
 		switch (gameStateChanged.getGameState())
 		{
+			// Keep the xp of the account aside when not logged in, so it can be picked up again after a hop or relog
 			case HOPPING:
 			case LOGGING_IN:
 			case LOGIN_SCREEN:
 			case LOGIN_SCREEN_AUTHENTICATOR:
 			case CONNECTION_LOST:
-				previousXpMap.clear();
+				engine.setSkillStates(accounts.detach());
+				coalescer.clear();
+				statBatch.clear();
+				catchUpPending = false;
+				screenshots.cancelFrame();
+				break;
+
+			case LOGGED_IN:
+				final SkillStateTable previous = engine.getSkillStates();
+				engine.setSkillStates(accounts.attach());
+
+				// Loading a new area also goes through LOGGED_IN, only catch up when actually logging in
+				catchUpPending |= engine.getSkillStates() != previous;
 				break;
 		}
 
 	}
 
 	@Subscribe
-	public void onStatChanged(StatChanged statChanged)
+	public void onConfigChanged(ConfigChanged configChanged)
 	{
-		final Skill skill = statChanged.getSkill();
-
-		final int currentXp = statChanged.getXp();
-		final int currentLevel = Experience.getLevelForXp(currentXp);
-
-		final int previousXp = previousXpMap.getOrDefault(skill, -1);
-		final int previousLevel = previousXp == -1 ? -1 : Experience.getLevelForXp(previousXp);
-
-		previousXpMap.put(skill, currentXp);
+		if (!MilestoneLevelsConfig.CONFIG_GROUP.equals(configChanged.getGroup()))
+		{
+			return;
+		}
 
-		// Previous xp has to be set, and our current xp has to be higher or equal to the previous xp
-		if (previousXp == -1 || previousXp >= currentXp)
+		// The plugin's own writes, the per account skill state and the bookkeeping keys, aren't settings
+		if (configChanged.getProfile() != null || PluginStateStore.isStateKey(configChanged.getKey()))
 		{
 			return;
 		}
 
-		// Only standard worlds are allowed, and if a player is in LMS, we should abort.
-		if (!Util.isStandardWorld(client) || Util.isInLMS(client))
+		rebuildSettings();
+		clientThread.invoke(engine.getSkillStates()::invalidateThresholds);
+	}
+
+	@Subscribe
+	public void onStatChanged(StatChanged statChanged)
+	{
+		final long start = System.nanoTime();
+		handleStatChanged(statChanged);
+		stats.recordStatChanged(System.nanoTime() - start);
+	}
+
+	private void handleStatChanged(StatChanged statChanged)
+	{
+		// The login burst of stat changes is picked up by the catch up on the next game tick
+		if (catchUpPending)
 		{
-			log.debug("Not on a standard world nor in LMS.");
 			return;
 		}
 
-		// Only notify on regular levels when the skill is enabled
-		final List<Integer> milestoneLevels = getMilestoneLevels(previousLevel, currentLevel);
+		final Skill skill = statChanged.getSkill();
+		final MilestoneSettings settings = this.settings.get();
 
-		if (shouldNotifyForSkill(skill) && !milestoneLevels.isEmpty())
+		switch (settings.getEvaluationMode())
 		{
-			log.debug("Milestone levels to notify for after {} check: {}", skill.getName(), milestoneLevels);
+			case PER_TICK:
+				statBatch.record(skill.ordinal(), statChanged.getXp());
+				return;
 
-			for (int level : milestoneLevels)
-			{
-				notifyLevel(skill, level);
-			}
+			case WORKER_THREAD:
+				publishToPipeline(settings, skill, statChanged.getXp());
+				return;
 		}
 
-		// Always notify for virtual levels
-		final List<Integer> milestoneVirtualLevels = getMilestoneVirtualLevels(previousLevel, currentLevel);
+		final int crossed = engine.update(settings, skill.ordinal(), statChanged.getXp(), milestoneBuffer);
 
-		if (shouldNotifyVirtualLevels() && !milestoneVirtualLevels.isEmpty())
+		if (crossed == 0)
 		{
-			log.debug("Virtual milestone levels to notify for: {}", milestoneVirtualLevels);
-
-			for (int virtualLevel : milestoneVirtualLevels)
-			{
-				notifyLevel(skill, virtualLevel);
-			}
+			return;
 		}
 
-		// Only notify on experience when the skill is enabled
-		final List<Integer> milestoneExperience = getMilestoneExperience(previousXp, currentXp);
+		accounts.markDirty();
 
-		if (shouldNotifyForSkill(skill) && !milestoneExperience.isEmpty())
+		// Only allowed world types, and if a player is in LMS, we should abort.
+		if (!eligibility.isEligible())
 		{
-			log.debug("Milestone experience to notify for after {} check: {}", skill.getName(), milestoneExperience);
+			log.debug("Not on an allowed world or in LMS.");
+			return;
+		}
 
-			for (int xp : milestoneExperience)
-			{
-				notifyExperience(skill, xp);
-			}
+		stats.recordMilestones(skill.ordinal(), crossed);
+
+		if (settings.getCoalesceMode() == CoalesceMode.PER_TICK)
+		{
+			coalescer.add(skill.ordinal(), milestoneBuffer);
+			return;
 		}
-	}
 
-	/**
-	 * Gets list of xp values between two numbers
-	 *
-	 * @return List<Integer>
-	 */
-	private List<Integer> getMilestoneExperience(int previousXp, int currentXp)
-	{
-		return Text.fromCSV(config.showOnExperience()).stream()
-			.distinct()
-			.filter(Util::isInteger)
-			.map(Integer::parseInt)
-			.filter(Util::isValidExperience)
-			.filter(n -> n > previousXp && n <= currentXp)
-			.sorted()
-			.collect(Collectors.toList());
+		MilestoneCoalescer.emit(skill.ordinal(), milestoneBuffer, settings.getCoalesceThreshold(), publisher.prepare(client.getTotalLevel()));
 	}
 
 	/**
-	 * Gets list of valid real levels from config
+	 * Hands a stat change that may have crossed a milestone to the worker thread for evaluation.
 	 *
-	 * @param previousLevel int
-	 * @param currentLevel  int
-	 * @return List<Integer>
+	 * @param settings MilestoneSettings
+	 * @param skill    Skill
+	 * @param xp       int
 	 */
-	private List<Integer> getMilestoneLevels(int previousLevel, int currentLevel)
+	private void publishToPipeline(MilestoneSettings settings, Skill skill, int xp)
 	{
-		return Text.fromCSV(config.showOnLevels()).stream()
-			.distinct()
-			.filter(Util::isInteger)
-			.map(Integer::parseInt)
-			.filter(Util::isValidRealLevel)
-			.filter(n -> n > previousLevel && n <= currentLevel)
-			.sorted()
-			.collect(Collectors.toList());
+		final int previousXp = engine.advance(settings, skill.ordinal(), xp);
+
+		if (previousXp == SkillStateTable.UNKNOWN)
+		{
+			return;
+		}
+
+		// A milestone may have been crossed, the worker decides
+		accounts.markDirty();
+
+		// Only allowed world types, and if a player is in LMS, we should abort.
+		if (!eligibility.isEligible())
+		{
+			log.debug("Not on an allowed world or in LMS.");
+			return;
+		}
+
+		if (!pipeline.publish(skill.ordinal(), previousXp, xp, client.getTotalLevel()))
+		{
+			log.debug("Milestone pipeline is full, dropped stat change of {}", skill.getName());
+		}
 	}
 
-	/**
-	 * Gets list of valid virtual levels
-	 *
-	 * @param previousLevel int
-	 * @param currentLevel  int
-	 * @return List<Integer>
-	 */
-	private List<Integer> getMilestoneVirtualLevels(int previousLevel, int currentLevel)
+	@Subscribe
+	public void onGameTick(GameTick gameTick)
 	{
-		return IntStream
-			.rangeClosed(Experience.MAX_REAL_LEVEL + 1, Experience.MAX_VIRT_LEVEL)
-			.boxed()
-			.filter(n -> n > previousLevel && n <= currentLevel)
-			.sorted()
-			.collect(Collectors.toList());
+		final MilestoneSettings settings = this.settings.get();
+
+		if (catchUpPending)
+		{
+			catchUp(settings);
+		}
+
+		if (!statBatch.isEmpty())
+		{
+			evaluateBatch(settings);
+		}
+
+		// Milestones crossed since the previous tick must not be announced again after a crash or closed client
+		accounts.persistIfDirty();
+
+		if (coalescer.isEmpty())
+		{
+			return;
+		}
+
+		// Everything crossed this tick is offered in order, the notification manager drains it as one batch
+		coalescer.flush(settings.getCoalesceThreshold(), publisher.prepare(client.getTotalLevel()));
 	}
 
 	/**
-	 * Populate initial xp per skill.
+	 * Collects the milestones every skill reached since the account's last known xp in a single pass, and announces
+	 * them as one "while you were away" notification or one per skill.
+	 *
+	 * @param settings MilestoneSettings
 	 */
-	private void initializePreviousXpMap()
+	private void catchUp(MilestoneSettings settings)
 	{
-		if (client.getGameState() != GameState.LOGGED_IN)
+		// Hitpoints xp is never below level 10, so the stats haven't been loaded yet
+		if (client.getSkillExperience(Skill.HITPOINTS) == 0)
 		{
-			previousXpMap.clear();
+			return;
 		}
-		else
+
+		catchUpPending = false;
+
+		final SkillStateTable skillStates = engine.getSkillStates();
+		final boolean announce = settings.getCatchUpMode() != CatchUpMode.OFF && eligibility.isEligible();
+
+		for (Skill skill : Skill.values())
 		{
-			for (final Skill skill : Skill.values())
+			final int ordinal = skill.ordinal();
+			final int xp = client.getSkillExperience(skill);
+
+			// Never move the recorded xp backwards
+			if (xp < skillStates.getXp(ordinal))
 			{
-				previousXpMap.put(skill, client.getSkillExperience(skill));
+				continue;
+			}
+
+			final int crossed = engine.update(settings, ordinal, xp, milestoneBuffer);
+
+			if (crossed == 0)
+			{
+				continue;
+			}
+
+			accounts.markDirty();
+
+			if (announce)
+			{
+				stats.recordMilestones(ordinal, crossed);
+				awayMilestones.add(ordinal, milestoneBuffer);
 			}
 		}
+
+		if (awayMilestones.isEmpty())
+		{
+			return;
+		}
+
+		if (settings.getCatchUpMode() == CatchUpMode.SUMMARY)
+		{
+			awayMilestones.flush(1, catchUpSummary);
+			publish(catchUpSummary.pack(client.getTotalLevel()));
+			return;
+		}
+
+		// A single milestone of a skill is shown as is, more are merged into a summary of the skill
+		awayMilestones.flush(2, publisher.prepare(client.getTotalLevel()));
 	}
 
 	/**
-	 * Adds a level-up notification to the queue if certain requirements are met.
+	 * Evaluates every skill that changed during the previous game tick, in skill order.
 	 *
-	 * @param skill Skill
-	 * @param level int
+	 * @param settings MilestoneSettings
 	 */
-	private void notifyLevel(Skill skill, int level)
+	private void evaluateBatch(MilestoneSettings settings)
 	{
-		String title = Util.replaceSkillAndLevel(config.notificationLevelTitle(), skill, level);
-		String text = Util.replaceSkillAndLevel(config.notificationLevelText(), skill, level);
-		int color = Util.getIntValue(config.notificationLevelColor());
+		// A single world and LMS check for the whole batch
+		final boolean eligible = eligibility.isEligible();
+		int skill;
+
+		while ((skill = statBatch.poll()) != -1)
+		{
+			// Always update, the recorded xp has to move along even when we don't notify
+			final int crossed = engine.update(settings, skill, statBatch.getXp(skill), milestoneBuffer);
+
+			if (crossed == 0)
+			{
+				continue;
+			}
 
-		log.debug("Notify {}up milestone reached for {} to level {}", level > Experience.MAX_REAL_LEVEL ? "virtual level-" : "level-", skill.getName(), level);
-		notifications.addNotification(title, text, color);
+			accounts.markDirty();
+
+			if (!eligible)
+			{
+				continue;
+			}
+
+			stats.recordMilestones(skill, crossed);
+			coalescer.add(skill, milestoneBuffer);
+		}
+
+		if (!eligible)
+		{
+			log.debug("Not on an allowed world or in LMS.");
+		}
 	}
 
 	/**
-	 * Adds an xp notification to the queue if certain requirements are met.
-	 *
-	 * @param skill Skill
-	 * @param xp    int
+	 * Rebuilds the settings snapshot, including the compiled level and xp milestones, from the config.
 	 */
-	private void notifyExperience(Skill skill, int xp)
+	private void rebuildSettings()
 	{
-		String title = Util.replaceSkillAndExperience(config.notificationExperienceTitle(), skill, xp);
-		String text = Util.replaceSkillAndExperience(config.notificationExperienceText(), skill, xp);
-		int color = Util.getIntValue(config.notificationExperienceColor());
-
-		log.debug("Notify xp milestone reached for {} to xp {}", skill.getName(), QuantityFormatter.formatNumber(xp));
-		notifications.addNotification(title, text, color);
+		final MilestoneSettings snapshot = MilestoneSettings.fromConfig(config);
+		settings.set(snapshot);
+		notifications.setSettings(snapshot);
+		notifications.setOutputs(OutputSettings.fromConfig(config));
+		eligibility.setPolicy(config.allowedWorlds());
+		notifications.configureQueue(config.notificationQueueCapacity(), config.notificationEvictionPolicy(), config.notificationTimeToLive());
+		log.debug("Rebuilt settings for levels \"{}\" and xp \"{}\"", config.showOnLevels(), config.showOnExperience());
 	}
 
 	/**
-	 * Check if we should notify for virtual levels
-	 *
-	 * @return boolean
+	 * Populate initial xp per skill.
 	 */
-	private boolean shouldNotifyVirtualLevels()
+	private void initializeSkillStates()
 	{
-		return config.showVirtualLevels();
+		if (client.getGameState() != GameState.LOGGED_IN)
+		{
+			return;
+		}
+
+		final SkillStateTable skillStates = accounts.attach();
+		engine.setSkillStates(skillStates);
+
+		for (final Skill skill : Skill.values())
+		{
+			skillStates.setXp(skill.ordinal(), client.getSkillExperience(skill));
+		}
 	}
 
 	/**
-	 * Check if we should notify for the given skill based off of our config settings.
+	 * Logs how long a step of starting up took, only in developer mode.
 	 *
-	 * @param skill Skill
-	 * @return boolean
+	 * @param step  String
+	 * @param start long System.nanoTime() at the start of the step
 	 */
-	private boolean shouldNotifyForSkill(Skill skill)
+	private void logStartupTime(String step, long start)
 	{
-		switch (skill)
+		if (developerMode)
 		{
-			case ATTACK:
-				return config.showAttackNotifications();
-			case DEFENCE:
-				return config.showDefenceNotifications();
-			case STRENGTH:
-				return config.showStrengthNotifications();
-			case HITPOINTS:
-				return config.showHitpointsNotifications();
-			case RANGED:
-				return config.showRangedNotifications();
-			case PRAYER:
-				return config.showPrayerNotifications();
-			case MAGIC:
-				return config.showMagicNotifications();
-			case COOKING:
-				return config.showCookingNotifications();
-			case WOODCUTTING:
-				return config.showWoodcuttingNotifications();
-			case FLETCHING:
-				return config.showFletchingNotifications();
-			case FISHING:
-				return config.showFishingNotifications();
-			case FIREMAKING:
-				return config.showFiremakingNotifications();
-			case CRAFTING:
-				return config.showCraftingNotifications();
-			case SMITHING:
-				return config.showSmithingNotifications();
-			case MINING:
-				return config.showMiningNotifications();
-			case HERBLORE:
-				return config.showHerbloreNotifications();
-			case AGILITY:
-				return config.showAgilityNotifications();
-			case THIEVING:
-				return config.showThievingNotifications();
-			case SLAYER:
-				return config.showSlayerNotifications();
-			case FARMING:
-				return config.showFarmingNotifications();
-			case RUNECRAFT:
-				return config.showRunecraftNotifications();
-			case HUNTER:
-				return config.showHunterNotifications();
-			case CONSTRUCTION:
-				return config.showConstructionNotifications();
-			case SAILING:
-				return config.showSailingNotifications();
+			log.info("Startup step {} took {}", step, MilestoneStats.formatNanos(System.nanoTime() - start));
 		}
+	}
 
-		return true;
+	/**
+	 * Queues a milestone notification.
+	 *
+	 * @param fact long MilestoneFact
+	 */
+	private void publish(long fact)
+	{
+		notifications.addMilestone(fact);
 	}
 
 	public void migrate()
 	{
-		String migrated = configManager.getConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, "migrated");
+		final int migrations = this.migrations.run();
 
-		if (migrated != null)
+		if (migrations > 0)
 		{
-			return;
+			log.debug("Ran {} config migrations", migrations);
 		}
-
-		log.debug("Start config key migration...");
-
-		Map<String, String> configMapping = Map.of(
-			"notificationColor", "notificationLevelColor",
-			"notificationText", "notificationLevelText",
-			"notificationTitle", "notificationLevelTitle"
-		);
-
-		for (Map.Entry<String, String> entry : configMapping.entrySet())
-		{
-			String oldKey = entry.getKey();
-			String newKey = entry.getValue();
-			String oldValue = configManager.getConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, oldKey);
-
-			log.debug("Old key {} with value {}", oldKey, oldValue);
-
-			if (oldValue != null)
-			{
-				configManager.setConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, newKey, oldValue);
-				configManager.unsetConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, oldKey);
-			}
-		}
-
-		log.debug("End migration of notification keys to notification level keys");
-		configManager.setConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, "migrated", "1");
 	}
 
 	@Subscribe
@@ -398,6 +529,27 @@ public class MilestoneLevelsPlugin extends Plugin
 					version.clearLastUpdateMessage();
 					break;
 
+				case "mlstats":
+					if (args.length > 0 && args[0].equals("reset"))
+					{
+						stats.reset();
+						notifications.resetQueueHighWaterMark();
+						break;
+					}
+
+					if (args.length > 0 && args[0].equals("overlay"))
+					{
+						if (!overlayManager.remove(statsOverlay))
+						{
+							overlayManager.add(statsOverlay);
+						}
+
+						break;
+					}
+
+					printStats();
+					break;
+
 				case "setstats":
 					for (Skill skill : Skill.values())
 					{
@@ -430,4 +582,22 @@ public class MilestoneLevelsPlugin extends Plugin
 			}
 		}
 	}
+
+	/**
+	 * Prints the collected hot path stats to the chatbox.
+	 */
+	private void printStats()
+	{
+		printStat("Stat changed: " + MilestoneStats.formatNanos(stats.getStatChanged()));
+		printStat("Milestones: " + stats.formatMilestones());
+		printStat("Queue: " + notifications.getQueueSize() + " queued, high-water " + notifications.getQueueHighWaterMark()
+			+ ", " + notifications.getDroppedCount() + " dropped, " + notifications.getExpiredCount() + " expired");
+		printStat("Queue wait: " + MilestoneStats.formatMillis(stats.getQueueWait()));
+		printStat("Display time: " + MilestoneStats.formatMillis(stats.getDisplayTime()));
+	}
+
+	private void printStat(String message)
+	{
+		client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", message, null);
+	}
 }
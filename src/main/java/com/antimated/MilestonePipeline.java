@@ -0,0 +1,125 @@
+package com.antimated;
+
+import com.antimated.milestones.MilestoneBuffer;
+import com.antimated.milestones.MilestoneCoalescer;
+import com.antimated.milestones.MilestoneEngine;
+import com.antimated.milestones.MilestoneSettings;
+import com.antimated.milestones.StatChangeRing;
+import com.antimated.notifications.MilestonePublisher;
+import com.antimated.notifications.NotificationManager;
+import com.antimated.stats.MilestoneStats;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evaluates milestones on a worker thread.
+ * <p>
+ * The client thread only publishes stat changes that passed a threshold into a single-producer ring. A single worker
+ * drains the ring in order, so milestones of a skill are always queued in the order they were reached. Milestones go
+ * straight into the notification manager's multi-producer ring, the client thread renders them once they are displayed.
+ */
+@Slf4j
+class MilestonePipeline
+{
+	private static final int CAPACITY = 1024;
+
+	private final StatChangeRing ring = new StatChangeRing(CAPACITY);
+
+	// Whether a drain is scheduled or running on the worker
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	private final AtomicReference<MilestoneSettings> settings;
+
+	private final MilestoneStats stats;
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "Milestone Levels pipeline");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	// Only used on the worker thread
+	private final MilestonePublisher publisher;
+
+	// Only used on the worker thread
+	private final MilestoneBuffer buffer = new MilestoneBuffer();
+
+	// Only used on the worker thread
+	private final int[] entry = new int[StatChangeRing.STRIDE];
+
+	MilestonePipeline(AtomicReference<MilestoneSettings> settings, NotificationManager notifications, MilestoneStats stats)
+	{
+		this.settings = settings;
+		this.stats = stats;
+		this.publisher = new MilestonePublisher(notifications::addMilestone);
+	}
+
+	/**
+	 * Hands a stat change to the worker, only to be called on the client thread.
+	 *
+	 * @param skill      int skill ordinal
+	 * @param previousXp int
+	 * @param currentXp  int
+	 * @param totalLevel int
+	 * @return boolean false when the worker fell too far behind and the stat change was dropped
+	 */
+	boolean publish(int skill, int previousXp, int currentXp, int totalLevel)
+	{
+		if (!ring.offer(skill, previousXp, currentXp, totalLevel))
+		{
+			return false;
+		}
+
+		if (scheduled.compareAndSet(false, true))
+		{
+			executor.execute(this::drain);
+		}
+
+		return true;
+	}
+
+	void shutDown()
+	{
+		executor.shutdownNow();
+	}
+
+	private void drain()
+	{
+		do
+		{
+			while (ring.poll(entry))
+			{
+				try
+				{
+					evaluate();
+				}
+				catch (RuntimeException e)
+				{
+					log.warn("Failed to evaluate milestones for skill {}", entry[StatChangeRing.SKILL], e);
+				}
+			}
+
+			scheduled.set(false);
+		}
+		// A stat change published after the last poll, but before scheduled was reset, would be left behind otherwise
+		while (!ring.isEmpty() && scheduled.compareAndSet(false, true));
+	}
+
+	private void evaluate()
+	{
+		final MilestoneSettings settings = this.settings.get();
+		final int skill = entry[StatChangeRing.SKILL];
+		final int crossed = MilestoneEngine.evaluate(settings, skill, entry[StatChangeRing.PREVIOUS_XP], entry[StatChangeRing.CURRENT_XP], buffer);
+
+		if (crossed == 0)
+		{
+			return;
+		}
+
+		stats.recordMilestones(skill, crossed);
+		MilestoneCoalescer.emit(skill, buffer, settings.getCoalesceThreshold(), publisher.prepare(entry[StatChangeRing.TOTAL_LEVEL]));
+	}
+}
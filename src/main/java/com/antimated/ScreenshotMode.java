@@ -0,0 +1,38 @@
+package com.antimated;
+
+import com.antimated.notifications.NotificationPriority;
+
+public enum ScreenshotMode
+{
+	OFF("Off", null),
+	MAX("99s and 200M xp", NotificationPriority.HIGH),
+	LEVELS("Levels and above", NotificationPriority.NORMAL),
+	ALL("Every milestone", NotificationPriority.LOW);
+
+	private final String name;
+
+	private final NotificationPriority minimumPriority;
+
+	ScreenshotMode(String name, NotificationPriority minimumPriority)
+	{
+		this.name = name;
+		this.minimumPriority = minimumPriority;
+	}
+
+	/**
+	 * Check if a milestone of the given priority should be captured.
+	 *
+	 * @param priority NotificationPriority
+	 * @return boolean
+	 */
+	public boolean captures(NotificationPriority priority)
+	{
+		return minimumPriority != null && priority.compareTo(minimumPriority) >= 0;
+	}
+
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+}
@@ -0,0 +1,21 @@
+package com.antimated;
+
+public enum WorldPolicy
+{
+	STANDARD("Standard worlds"),
+	STANDARD_AND_LEAGUES("Standard and league worlds"),
+	ALL("All worlds");
+
+	private final String name;
+
+	WorldPolicy(String name)
+	{
+		this.name = name;
+	}
+
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+}
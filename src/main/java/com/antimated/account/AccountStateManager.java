@@ -0,0 +1,210 @@
+package com.antimated.account;
+
+import com.antimated.MilestoneLevelsConfig;
+import com.antimated.milestones.SkillStateTable;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Skill;
+import net.runelite.client.config.ConfigManager;
+
+/**
+ * Keeps the skill state of every account seen this session, so hops and relogs continue where they left off.
+ * <p>
+ * States are keyed by the RuneScape profile, which is unique per account and world type (standard, leagues, ...).
+ * Switching to a profile seen before only swaps a reference, profiles not seen yet this session are loaded from the
+ * RS profile config, where the xp of every skill is stored as a single compact string.
+ * <p>
+ * Only used on the client thread.
+ */
+@Slf4j
+@Singleton
+public class AccountStateManager
+{
+	private static final String SKILL_STATE_KEY = "skillState";
+
+	// Bumped whenever the encoding changes, older states are ignored instead of misread
+	private static final byte ENCODING_VERSION = 1;
+
+	private static final int SKILLS = Skill.values().length;
+
+	@Inject
+	private ConfigManager configManager;
+
+	private final Map<String, SkillStateTable> states = new HashMap<>();
+
+	// Used while no account is logged in, so stat changes of the next login can't end up in the previous account
+	private final SkillStateTable detached = new SkillStateTable(SKILLS);
+
+	private String profileKey;
+
+	private SkillStateTable current = detached;
+
+	// Whether the logged in account crossed milestones since its state was last written
+	private boolean dirty;
+
+	/**
+	 * Switches to the state of the logged in account.
+	 *
+	 * @return SkillStateTable of the logged in account, or an empty state when the account is not known yet
+	 */
+	public SkillStateTable attach()
+	{
+		final String key = configManager.getRSProfileKey();
+
+		if (key == null)
+		{
+			return detach();
+		}
+
+		if (key.equals(profileKey))
+		{
+			return current;
+		}
+
+		SkillStateTable state = states.get(key);
+
+		if (state == null)
+		{
+			state = new SkillStateTable(SKILLS);
+			decode(configManager.getConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, key, SKILL_STATE_KEY), state);
+			states.put(key, state);
+		}
+
+		// The settings may have changed since this state was last used
+		state.invalidateThresholds();
+
+		log.debug("Attached skill state of profile {}", key);
+		profileKey = key;
+		current = state;
+		return state;
+	}
+
+	/**
+	 * Stores the state of the logged in account and switches to an empty state.
+	 *
+	 * @return SkillStateTable empty state to use until the next attach
+	 */
+	public SkillStateTable detach()
+	{
+		persist();
+
+		detached.clear();
+		profileKey = null;
+		current = detached;
+		return detached;
+	}
+
+	/**
+	 * Marks the state of the logged in account as changed by a milestone, so it is written on the next
+	 * {@link #persistIfDirty()}. Otherwise a client closed or crashing while logged in would announce the milestones
+	 * of the whole session again as caught up on the next login.
+	 */
+	public void markDirty()
+	{
+		dirty = true;
+	}
+
+	/**
+	 * Writes the state of the logged in account, only when a milestone was crossed since it was last written.
+	 */
+	public void persistIfDirty()
+	{
+		if (dirty)
+		{
+			persist();
+		}
+	}
+
+	/**
+	 * Writes the state of the logged in account to its RS profile config.
+	 */
+	public void persist()
+	{
+		dirty = false;
+
+		if (profileKey == null)
+		{
+			return;
+		}
+
+		configManager.setConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, profileKey, SKILL_STATE_KEY, encode(current));
+	}
+
+	/**
+	 * Forgets every state kept in memory, persisted states are kept.
+	 */
+	public void clear()
+	{
+		states.clear();
+		detached.clear();
+		profileKey = null;
+		current = detached;
+	}
+
+	/**
+	 * Encodes the xp of every skill as a version byte followed by one int per skill, in base64.
+	 *
+	 * @param state SkillStateTable
+	 * @return String
+	 */
+	static String encode(SkillStateTable state)
+	{
+		final ByteBuffer buffer = ByteBuffer.allocate(1 + state.size() * Integer.BYTES);
+		buffer.put(ENCODING_VERSION);
+
+		for (int skill = 0; skill < state.size(); skill++)
+		{
+			buffer.putInt(state.getXp(skill));
+		}
+
+		return Base64.getEncoder().withoutPadding().encodeToString(buffer.array());
+	}
+
+	/**
+	 * Restores the xp of every skill stored by {@link #encode}, leaving unknown skills untouched.
+	 *
+	 * @param encoded String or null
+	 * @param state   SkillStateTable
+	 */
+	static void decode(String encoded, SkillStateTable state)
+	{
+		if (encoded == null || encoded.isEmpty())
+		{
+			return;
+		}
+
+		final ByteBuffer buffer;
+
+		try
+		{
+			buffer = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+		}
+		catch (IllegalArgumentException e)
+		{
+			log.warn("Ignoring malformed skill state {}", encoded);
+			return;
+		}
+
+		if (!buffer.hasRemaining() || buffer.get() != ENCODING_VERSION)
+		{
+			log.debug("Ignoring skill state of an unknown version");
+			return;
+		}
+
+		// States written before a skill was added are shorter, the new skill simply stays unknown
+		for (int skill = 0; skill < state.size() && buffer.remaining() >= Integer.BYTES; skill++)
+		{
+			final int xp = buffer.getInt();
+
+			if (xp != SkillStateTable.UNKNOWN)
+			{
+				state.setXp(skill, xp);
+			}
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package com.antimated.eligibility;
+
+import com.antimated.WorldPolicy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.events.WorldChanged;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.config.RuneScapeProfileType;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * Keeps track of whether milestones should be announced on the current world.
+ * <p>
+ * The world type and the LMS varbit only change on a handful of events, so they are looked up on those events instead
+ * of on every stat change. The hot path only reads a volatile boolean.
+ */
+@Slf4j
+@Singleton
+public class EligibilityManager
+{
+	private static final int IN_LMS_VARBIT = 5314;
+
+	@Inject
+	private Client client;
+
+	@Inject
+	private ClientThread clientThread;
+
+	@Inject
+	private EventBus eventBus;
+
+	private volatile WorldPolicy policy = WorldPolicy.STANDARD;
+
+	private volatile RuneScapeProfileType profileType = RuneScapeProfileType.STANDARD;
+
+	private volatile boolean inLms;
+
+	private volatile boolean eligible;
+
+	public void startUp()
+	{
+		log.debug("EligibilityManager startUp()");
+		eventBus.register(this);
+		clientThread.invoke(this::refresh);
+	}
+
+	public void shutDown()
+	{
+		log.debug("EligibilityManager shutDown()");
+		eventBus.unregister(this);
+		eligible = false;
+	}
+
+	@Subscribe
+	public void onGameStateChanged(GameStateChanged gameStateChanged)
+	{
+		if (gameStateChanged.getGameState() == GameState.LOGGED_IN)
+		{
+			refresh();
+		}
+	}
+
+	@Subscribe
+	public void onWorldChanged(WorldChanged worldChanged)
+	{
+		refresh();
+	}
+
+	@Subscribe
+	public void onVarbitChanged(VarbitChanged varbitChanged)
+	{
+		if (varbitChanged.getVarbitId() == IN_LMS_VARBIT)
+		{
+			inLms = varbitChanged.getValue() == 1;
+			update();
+		}
+	}
+
+	/**
+	 * Looks up the world type and LMS varbit again, has to be called on the client thread.
+	 */
+	public void refresh()
+	{
+		profileType = RuneScapeProfileType.getCurrent(client);
+		inLms = client.getVarbitValue(IN_LMS_VARBIT) == 1;
+		update();
+	}
+
+	/**
+	 * Sets which world types milestones are announced on.
+	 *
+	 * @param policy WorldPolicy
+	 */
+	public void setPolicy(WorldPolicy policy)
+	{
+		this.policy = policy;
+		update();
+	}
+
+	/**
+	 * Whether milestones should be announced on the current world.
+	 *
+	 * @return boolean
+	 */
+	public boolean isEligible()
+	{
+		return eligible;
+	}
+
+	/**
+	 * Gets the profile type of the current world, milestone state is kept separately per profile type.
+	 *
+	 * @return RuneScapeProfileType
+	 */
+	public RuneScapeProfileType getProfileType()
+	{
+		return profileType;
+	}
+
+	private void update()
+	{
+		// LMS is never eligible, its stats are temporary
+		eligible = !inLms && isAllowed(policy, profileType);
+		log.debug("Eligibility updated to {} for {} ({})", eligible, profileType, policy);
+	}
+
+	/**
+	 * Check if a policy allows announcing milestones on a profile type.
+	 *
+	 * @param policy      WorldPolicy
+	 * @param profileType RuneScapeProfileType
+	 * @return boolean
+	 */
+	static boolean isAllowed(WorldPolicy policy, RuneScapeProfileType profileType)
+	{
+		switch (policy)
+		{
+			case ALL:
+				return true;
+			case STANDARD_AND_LEAGUES:
+				return profileType == RuneScapeProfileType.STANDARD || isLeague(profileType);
+			case STANDARD:
+			default:
+				return profileType == RuneScapeProfileType.STANDARD;
+		}
+	}
+
+	private static boolean isLeague(RuneScapeProfileType profileType)
+	{
+		// Every league gets its own profile type, matching on the name keeps future leagues working
+		return profileType.name().endsWith("_LEAGUE");
+	}
+}
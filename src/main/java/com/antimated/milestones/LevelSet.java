@@ -0,0 +1,94 @@
+package com.antimated.milestones;
+
+import net.runelite.api.Experience;
+
+/**
+ * Set of levels 1 to 126 stored as a 128-bit bitset.
+ * <p>
+ * Finding the next level is a mask and a trailing zero count, regardless of how many levels are set.
+ */
+public final class LevelSet
+{
+	public static final LevelSet EMPTY = new LevelSet(0, 0);
+
+	// Levels 0 - 63
+	private final long low;
+
+	// Levels 64 - 127
+	private final long high;
+
+	private LevelSet(long low, long high)
+	{
+		this.low = low;
+		this.high = high;
+	}
+
+	/**
+	 * Collects every level covered by the rules.
+	 *
+	 * @param rules MilestoneRules
+	 * @return LevelSet
+	 */
+	public static LevelSet of(MilestoneRules rules)
+	{
+		long low = 0;
+		long high = 0;
+
+		for (int level = rules.next(0); level <= Experience.MAX_VIRT_LEVEL; level = rules.next(level))
+		{
+			if (level < 64)
+			{
+				low |= 1L << level;
+			}
+			else
+			{
+				high |= 1L << (level - 64);
+			}
+		}
+
+		return low == 0 && high == 0 ? EMPTY : new LevelSet(low, high);
+	}
+
+	/**
+	 * Gets the lowest level in the set that is higher than the given level.
+	 *
+	 * @param level int
+	 * @return int level, or {@link MilestoneRules#NONE}
+	 */
+	public int next(int level)
+	{
+		final int from = Math.max(level + 1, 0);
+
+		if (from < 64)
+		{
+			final long bits = low & (-1L << from);
+
+			if (bits != 0)
+			{
+				return Long.numberOfTrailingZeros(bits);
+			}
+		}
+
+		if (from < 128)
+		{
+			final long bits = high & (-1L << Math.max(from - 64, 0));
+
+			if (bits != 0)
+			{
+				return 64 + Long.numberOfTrailingZeros(bits);
+			}
+		}
+
+		return MilestoneRules.NONE;
+	}
+
+	public boolean contains(int level)
+	{
+		return level >= 0 && level < 128 && ((level < 64 ? low >>> level : high >>> (level - 64)) & 1) != 0;
+	}
+
+	public int size()
+	{
+		return Long.bitCount(low) + Long.bitCount(high);
+	}
+}
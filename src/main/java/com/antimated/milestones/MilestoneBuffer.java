@@ -0,0 +1,125 @@
+package com.antimated.milestones;
+
+import java.util.Arrays;
+
+/**
+ * Reusable, caller supplied output of the milestone engine.
+ * <p>
+ * Crossed milestones are stored as parallel primitive arrays, in the order they should be announced. The arrays only
+ * grow when a single evaluation crosses more milestones than ever before, so steady state evaluation allocates nothing.
+ */
+public final class MilestoneBuffer
+{
+	private int[] types;
+
+	private int[] values;
+
+	private int size;
+
+	private int previousXp;
+
+	private int currentXp;
+
+	public MilestoneBuffer()
+	{
+		this(16);
+	}
+
+	public MilestoneBuffer(int capacity)
+	{
+		types = new int[capacity];
+		values = new int[capacity];
+	}
+
+	void add(MilestoneType type, int value)
+	{
+		if (size == values.length)
+		{
+			types = Arrays.copyOf(types, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+		}
+
+		types[size] = type.ordinal();
+		values[size] = value;
+		size++;
+	}
+
+	/**
+	 * Appends every milestone of another buffer and widens the xp range to cover both.
+	 *
+	 * @param other MilestoneBuffer
+	 */
+	void addAll(MilestoneBuffer other)
+	{
+		if (size == 0)
+		{
+			previousXp = other.previousXp;
+		}
+
+		for (int i = 0; i < other.size; i++)
+		{
+			add(other.getType(i), other.values[i]);
+		}
+
+		currentXp = other.currentXp;
+	}
+
+	void setRange(int previousXp, int currentXp)
+	{
+		this.previousXp = previousXp;
+		this.currentXp = currentXp;
+	}
+
+	public void clear()
+	{
+		size = 0;
+		previousXp = 0;
+		currentXp = 0;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	public MilestoneType getType(int index)
+	{
+		return MilestoneType.of(types[index]);
+	}
+
+	/**
+	 * Gets the level for level milestones, or the xp for xp milestones.
+	 *
+	 * @param index int
+	 * @return int
+	 */
+	public int getValue(int index)
+	{
+		return values[index];
+	}
+
+	/**
+	 * Gets the xp the crossed milestones were evaluated from.
+	 *
+	 * @return int
+	 */
+	public int getPreviousXp()
+	{
+		return previousXp;
+	}
+
+	/**
+	 * Gets the xp the crossed milestones were evaluated up to.
+	 *
+	 * @return int
+	 */
+	public int getCurrentXp()
+	{
+		return currentXp;
+	}
+}
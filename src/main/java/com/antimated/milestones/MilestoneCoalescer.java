@@ -0,0 +1,110 @@
+package com.antimated.milestones;
+
+/**
+ * Collects the milestones crossed during a game tick per skill, so a burst can be announced as a single summary.
+ * <p>
+ * Buffers are allocated once per skill and reused, collecting and flushing allocates nothing in steady state.
+ */
+public final class MilestoneCoalescer
+{
+	public interface Sink
+	{
+		/**
+		 * Called for every milestone of a skill that crossed fewer milestones than the threshold.
+		 */
+		void milestone(int skill, MilestoneType type, int value);
+
+		/**
+		 * Called once for a skill that crossed at least the threshold amount of milestones.
+		 */
+		void summary(int skill, MilestoneBuffer crossed);
+	}
+
+	private final MilestoneBuffer[] pending;
+
+	// One bit per skill ordinal with pending milestones
+	private long dirty;
+
+	public MilestoneCoalescer(int skills)
+	{
+		pending = new MilestoneBuffer[skills];
+
+		for (int skill = 0; skill < skills; skill++)
+		{
+			pending[skill] = new MilestoneBuffer();
+		}
+	}
+
+	/**
+	 * Adds the milestones crossed by a single evaluation of a skill.
+	 *
+	 * @param skill   int skill ordinal
+	 * @param crossed MilestoneBuffer
+	 */
+	public void add(int skill, MilestoneBuffer crossed)
+	{
+		if (crossed.isEmpty())
+		{
+			return;
+		}
+
+		pending[skill].addAll(crossed);
+		dirty |= 1L << skill;
+	}
+
+	public boolean isEmpty()
+	{
+		return dirty == 0;
+	}
+
+	/**
+	 * Hands every pending milestone to the sink in skill order, merging skills at or above the threshold.
+	 *
+	 * @param threshold int
+	 * @param sink      Sink
+	 */
+	public void flush(int threshold, Sink sink)
+	{
+		while (dirty != 0)
+		{
+			final int skill = Long.numberOfTrailingZeros(dirty);
+			dirty &= dirty - 1;
+
+			final MilestoneBuffer crossed = pending[skill];
+			emit(skill, crossed, threshold, sink);
+			crossed.clear();
+		}
+	}
+
+	/**
+	 * Hands the milestones of a single evaluation to the sink, merging them when they reach the threshold.
+	 *
+	 * @param skill     int skill ordinal
+	 * @param crossed   MilestoneBuffer
+	 * @param threshold int
+	 * @param sink      Sink
+	 */
+	public static void emit(int skill, MilestoneBuffer crossed, int threshold, Sink sink)
+	{
+		if (crossed.size() >= threshold)
+		{
+			sink.summary(skill, crossed);
+			return;
+		}
+
+		for (int i = 0; i < crossed.size(); i++)
+		{
+			sink.milestone(skill, crossed.getType(i), crossed.getValue(i));
+		}
+	}
+
+	public void clear()
+	{
+		for (MilestoneBuffer buffer : pending)
+		{
+			buffer.clear();
+		}
+
+		dirty = 0;
+	}
+}
@@ -0,0 +1,186 @@
+package com.antimated.milestones;
+
+import net.runelite.api.Experience;
+
+/**
+ * Headless milestone detection.
+ * <p>
+ * Works on skill ordinals and plain xp values only, so it does not need a Client, ConfigManager or EventBus and can be
+ * unit tested, benchmarked or stress tested without starting RuneLite. The plugin feeds it stat changes and turns the
+ * crossed milestones into notifications.
+ * <p>
+ * An engine keeps per-skill state and is not thread-safe, the static {@link #evaluate} is.
+ */
+public final class MilestoneEngine
+{
+	private SkillStateTable skillStates;
+
+	public MilestoneEngine(int skills)
+	{
+		skillStates = new SkillStateTable(skills);
+	}
+
+	public SkillStateTable getSkillStates()
+	{
+		return skillStates;
+	}
+
+	/**
+	 * Swaps in the state of another account, without copying it.
+	 *
+	 * @param skillStates SkillStateTable
+	 */
+	public void setSkillStates(SkillStateTable skillStates)
+	{
+		this.skillStates = skillStates;
+	}
+
+	/**
+	 * Records the new xp of a skill and collects the milestones crossed since the previously recorded xp.
+	 * Nothing is reported for the first xp recorded for a skill.
+	 *
+	 * @param settings MilestoneSettings
+	 * @param skill    int skill ordinal
+	 * @param xp       int
+	 * @param buffer   MilestoneBuffer cleared and filled with the crossed milestones
+	 * @return int number of milestones crossed
+	 */
+	public int update(MilestoneSettings settings, int skill, int xp, MilestoneBuffer buffer)
+	{
+		buffer.clear();
+
+		final int previousLevel = skillStates.getLevel(skill);
+		final int previousXp = advance(settings, skill, xp);
+
+		if (previousXp == SkillStateTable.UNKNOWN)
+		{
+			return 0;
+		}
+
+		return collect(settings, skill, previousXp, previousLevel, xp, skillStates.getLevel(skill), buffer);
+	}
+
+	/**
+	 * Records the new xp of a skill without collecting the crossed milestones, so they can be evaluated elsewhere.
+	 *
+	 * @param settings MilestoneSettings
+	 * @param skill    int skill ordinal
+	 * @param xp       int
+	 * @return int previous xp when a milestone may have been crossed since, otherwise SkillStateTable.UNKNOWN
+	 */
+	public int advance(MilestoneSettings settings, int skill, int xp)
+	{
+		// Nearly every stat change crosses no milestone at all, so bail out before doing any real work.
+		if (skillStates.recordIfBelowThreshold(skill, xp))
+		{
+			return SkillStateTable.UNKNOWN;
+		}
+
+		final int previousXp = skillStates.getXp(skill);
+
+		skillStates.setXp(skill, xp);
+		skillStates.setNextThreshold(skill, nextThreshold(settings, skill, xp, skillStates.getLevel(skill)));
+
+		// Previous xp has to be set, and our current xp has to be higher or equal to the previous xp
+		if (previousXp == SkillStateTable.UNKNOWN || previousXp >= xp)
+		{
+			return SkillStateTable.UNKNOWN;
+		}
+
+		return previousXp;
+	}
+
+	/**
+	 * Collects the milestones crossed going from previousXp to currentXp, exclusive and inclusive respectively.
+	 *
+	 * @param settings   MilestoneSettings
+	 * @param skill      int skill ordinal
+	 * @param previousXp int
+	 * @param currentXp  int
+	 * @param buffer     MilestoneBuffer cleared and filled with the crossed milestones
+	 * @return int number of milestones crossed
+	 */
+	public static int evaluate(MilestoneSettings settings, int skill, int previousXp, int currentXp, MilestoneBuffer buffer)
+	{
+		buffer.clear();
+
+		if (previousXp < 0 || previousXp >= currentXp)
+		{
+			return 0;
+		}
+
+		return collect(settings, skill, previousXp, Experience.getLevelForXp(previousXp), currentXp, Experience.getLevelForXp(currentXp), buffer);
+	}
+
+	/**
+	 * Gets the xp at which the next milestone (level, virtual level or xp) is reached for a skill.
+	 *
+	 * @param settings MilestoneSettings
+	 * @param skill    int skill ordinal
+	 * @param xp       int
+	 * @param level    int
+	 * @return int xp, or Integer.MAX_VALUE when there is no next milestone
+	 */
+	public static int nextThreshold(MilestoneSettings settings, int skill, int xp, int level)
+	{
+		final MilestoneIndex index = settings.getMilestones();
+		int threshold = Integer.MAX_VALUE;
+
+		if (settings.isSkillEnabled(skill))
+		{
+			final int nextLevel = index.nextLevel(skill, level);
+
+			if (nextLevel != MilestoneRules.NONE)
+			{
+				threshold = Math.min(threshold, Experience.getXpForLevel(nextLevel));
+			}
+
+			threshold = Math.min(threshold, index.nextExperience(skill, xp));
+		}
+
+		// Virtual levels are announced whether or not the skill is enabled, below 99 the first one is level 100
+		if (settings.isShowVirtualLevels() && level < Experience.MAX_VIRT_LEVEL)
+		{
+			threshold = Math.min(threshold, Experience.getXpForLevel(Math.max(level + 1, Experience.MAX_REAL_LEVEL + 1)));
+		}
+
+		return threshold;
+	}
+
+	private static int collect(MilestoneSettings settings, int skill, int previousXp, int previousLevel, int currentXp, int currentLevel, MilestoneBuffer buffer)
+	{
+		final MilestoneIndex index = settings.getMilestones();
+		final boolean skillEnabled = settings.isSkillEnabled(skill);
+
+		buffer.setRange(previousXp, currentXp);
+
+		// Only notify on regular levels when the skill is enabled
+		if (skillEnabled)
+		{
+			for (int level = index.nextLevel(skill, previousLevel); level <= currentLevel; level = index.nextLevel(skill, level))
+			{
+				buffer.add(MilestoneType.LEVEL, level);
+			}
+		}
+
+		// Always notify for virtual levels
+		if (settings.isShowVirtualLevels())
+		{
+			for (int level = Math.max(previousLevel + 1, Experience.MAX_REAL_LEVEL + 1); level <= currentLevel; level++)
+			{
+				buffer.add(MilestoneType.VIRTUAL_LEVEL, level);
+			}
+		}
+
+		// Only notify on experience when the skill is enabled
+		if (skillEnabled)
+		{
+			for (int xp = index.nextExperience(skill, previousXp); xp <= currentXp; xp = index.nextExperience(skill, xp))
+			{
+				buffer.add(MilestoneType.EXPERIENCE, xp);
+			}
+		}
+
+		return buffer.size();
+	}
+}
@@ -0,0 +1,161 @@
+package com.antimated.milestones;
+
+import java.util.Arrays;
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+
+/**
+ * Immutable, pre-compiled view of the configured level and xp milestones of every skill.
+ * <p>
+ * Built once from the config strings and rebuilt only when the config changes, so the stat changed handler never has
+ * to parse the milestone expressions again. Levels are stored as a bitset and xp as arithmetic rules, neither grows
+ * with the amount of milestones they cover. Skills without an override share the global level set and xp rules.
+ */
+public final class MilestoneIndex
+{
+	private static final Skill[] SKILLS = Skill.values();
+
+	public static final MilestoneIndex EMPTY = compile("", "");
+
+	// Indexed by skill ordinal
+	private final LevelSet[] levels;
+
+	// Indexed by skill ordinal
+	private final MilestoneRules[] experience;
+
+	private MilestoneIndex(LevelSet[] levels, MilestoneRules[] experience)
+	{
+		this.levels = levels;
+		this.experience = experience;
+	}
+
+	/**
+	 * Compiles the level and xp expressions into an index used by every skill, invalid terms are ignored.
+	 *
+	 * @param levels     String
+	 * @param experience String
+	 * @return MilestoneIndex
+	 * @see MilestoneRules
+	 */
+	public static MilestoneIndex compile(String levels, String experience)
+	{
+		return compile(levels, experience, "");
+	}
+
+	/**
+	 * Compiles the level and xp expressions, and the per-skill overrides, into an index.
+	 * <p>
+	 * Overrides are given one per line as {@code Skill: expression} for levels and {@code Skill xp: expression} for
+	 * xp, e.g. {@code Slayer: every 1}. Lines that can't be parsed are ignored.
+	 *
+	 * @param levels     String
+	 * @param experience String
+	 * @param overrides  String
+	 * @return MilestoneIndex
+	 */
+	public static MilestoneIndex compile(String levels, String experience, String overrides)
+	{
+		final LevelSet[] skillLevels = new LevelSet[SKILLS.length];
+		final MilestoneRules[] skillExperience = new MilestoneRules[SKILLS.length];
+
+		Arrays.fill(skillLevels, compileLevels(levels));
+		Arrays.fill(skillExperience, compileExperience(experience));
+
+		if (overrides != null)
+		{
+			for (String line : overrides.split("\n"))
+			{
+				final int separator = line.indexOf(':');
+
+				if (separator == -1)
+				{
+					continue;
+				}
+
+				String name = line.substring(0, separator).trim();
+				final String expression = line.substring(separator + 1);
+				final boolean xp = name.toLowerCase().endsWith(" xp");
+
+				if (xp)
+				{
+					name = name.substring(0, name.length() - 3).trim();
+				}
+
+				final Skill skill = findSkill(name);
+
+				if (skill == null)
+				{
+					continue;
+				}
+
+				if (xp)
+				{
+					skillExperience[skill.ordinal()] = compileExperience(expression);
+				}
+				else
+				{
+					skillLevels[skill.ordinal()] = compileLevels(expression);
+				}
+			}
+		}
+
+		return new MilestoneIndex(skillLevels, skillExperience);
+	}
+
+	/**
+	 * Gets the lowest configured level of a skill that is higher than the given level.
+	 *
+	 * @param skill int skill ordinal
+	 * @param level int
+	 * @return int level, or {@link MilestoneRules#NONE}
+	 */
+	public int nextLevel(int skill, int level)
+	{
+		return levels[skill].next(level);
+	}
+
+	/**
+	 * Gets the lowest configured xp value of a skill that is higher than the given xp.
+	 *
+	 * @param skill int skill ordinal
+	 * @param xp    int
+	 * @return int xp, or {@link MilestoneRules#NONE}
+	 */
+	public int nextExperience(int skill, int xp)
+	{
+		return experience[skill].next(xp);
+	}
+
+	public LevelSet getLevels(int skill)
+	{
+		return levels[skill];
+	}
+
+	public MilestoneRules getExperience(int skill)
+	{
+		return experience[skill];
+	}
+
+	private static LevelSet compileLevels(String expression)
+	{
+		return LevelSet.of(MilestoneRules.compile(expression, 1, Experience.MAX_REAL_LEVEL));
+	}
+
+	private static MilestoneRules compileExperience(String expression)
+	{
+		return MilestoneRules.compile(expression, 1, Experience.MAX_SKILL_XP);
+	}
+
+	private static Skill findSkill(String name)
+	{
+		for (Skill skill : SKILLS)
+		{
+			if (skill.getName().equalsIgnoreCase(name))
+			{
+				return skill;
+			}
+		}
+
+		return null;
+	}
+}
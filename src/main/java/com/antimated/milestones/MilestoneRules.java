@@ -0,0 +1,258 @@
+package com.antimated.milestones;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled milestone expression, a sorted set of arithmetic progressions.
+ * <p>
+ * An expression is a comma separated list of terms:
+ * <ul>
+ * <li>{@code 50}, a single value</li>
+ * <li>{@code 70-99}, every value in a range</li>
+ * <li>{@code 10-99 step 5}, every 5th value in a range, starting at 10</li>
+ * <li>{@code every 5000000}, every multiple of 5000000</li>
+ * </ul>
+ * Any term may end in {@code xp}. Runs of single values with a constant difference are merged into a single
+ * progression, so "2, 3, 4, ..., 99" compiles to the same rule as "2-99".
+ * <p>
+ * The next milestone is computed arithmetically, memory and lookup cost only depend on the amount of rules and not on
+ * the amount of values they cover.
+ */
+public final class MilestoneRules
+{
+	public static final int NONE = Integer.MAX_VALUE;
+
+	public static final MilestoneRules EMPTY = new MilestoneRules(new int[0], new int[0], new int[0]);
+
+	private static final Pattern TERM = Pattern.compile("(?:every\\s+(\\d+)|(\\d+)(?:\\s*-\\s*(\\d+)(?:\\s+step\\s+(\\d+))?)?)(?:\\s*xp)?");
+
+	// Rules sorted by their first value
+	private final int[] from;
+
+	private final int[] to;
+
+	private final int[] step;
+
+	private MilestoneRules(int[] from, int[] to, int[] step)
+	{
+		this.from = from;
+		this.to = to;
+		this.step = step;
+	}
+
+	/**
+	 * Compiles an expression, terms that can't be parsed or fall outside of [min, max] are ignored.
+	 *
+	 * @param expression String
+	 * @param min        int lowest valid value
+	 * @param max        int highest valid value
+	 * @return MilestoneRules
+	 */
+	public static MilestoneRules compile(String expression, int min, int max)
+	{
+		if (expression == null || expression.isEmpty())
+		{
+			return EMPTY;
+		}
+
+		final List<int[]> rules = new ArrayList<>();
+		final List<Integer> singles = new ArrayList<>();
+
+		for (String term : expression.split(","))
+		{
+			final Matcher matcher = TERM.matcher(term.trim().toLowerCase());
+
+			if (!matcher.matches())
+			{
+				continue;
+			}
+
+			try
+			{
+				if (matcher.group(1) != null)
+				{
+					final int every = Integer.parseInt(matcher.group(1));
+					addRule(rules, every, max, every, min, max);
+				}
+				else if (matcher.group(3) == null)
+				{
+					final int value = Integer.parseInt(matcher.group(2));
+
+					if (value >= min && value <= max)
+					{
+						singles.add(value);
+					}
+				}
+				else
+				{
+					final int step = matcher.group(4) == null ? 1 : Integer.parseInt(matcher.group(4));
+					addRule(rules, Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)), step, min, max);
+				}
+			}
+			catch (NumberFormatException e)
+			{
+				// Too large to be a valid value
+			}
+		}
+
+		addSingles(rules, singles.stream().mapToInt(Integer::intValue).distinct().sorted().toArray());
+		rules.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+
+		final int[] from = new int[rules.size()];
+		final int[] to = new int[rules.size()];
+		final int[] step = new int[rules.size()];
+
+		for (int i = 0; i < rules.size(); i++)
+		{
+			from[i] = rules.get(i)[0];
+			to[i] = rules.get(i)[1];
+			step[i] = rules.get(i)[2];
+		}
+
+		return new MilestoneRules(from, to, step);
+	}
+
+	/**
+	 * Gets the lowest milestone that is higher than the given value.
+	 * Milestones crossed going from a to b are next(a), next(next(a)), ... up to and including b.
+	 *
+	 * @param value int
+	 * @return int milestone, or {@link #NONE}
+	 */
+	public int next(int value)
+	{
+		int next = NONE;
+
+		for (int i = 0; i < from.length && from[i] < next; i++)
+		{
+			final int candidate;
+
+			if (value < from[i])
+			{
+				candidate = from[i];
+			}
+			else
+			{
+				// Widened, the next value of a progression ending near Integer.MAX_VALUE would overflow
+				final long stepped = from[i] + ((long) (value - from[i]) / step[i] + 1) * step[i];
+
+				if (stepped > to[i])
+				{
+					continue;
+				}
+
+				candidate = (int) stepped;
+			}
+
+			next = Math.min(next, candidate);
+		}
+
+		return next;
+	}
+
+	public boolean isEmpty()
+	{
+		return from.length == 0;
+	}
+
+	/**
+	 * Gets the amount of progressions the expression compiled into.
+	 *
+	 * @return int
+	 */
+	public int size()
+	{
+		return from.length;
+	}
+
+	private static void addRule(List<int[]> rules, int from, int to, int step, int min, int max)
+	{
+		if (step <= 0)
+		{
+			return;
+		}
+
+		if (from < min)
+		{
+			// First value of the progression that is valid
+			from += (int) (((long) min - from + step - 1) / step) * step;
+		}
+
+		to = Math.min(to, max);
+
+		if (from > to)
+		{
+			return;
+		}
+
+		// Trim the end to the last value of the progression, keeps stepping past it from overflowing
+		to = from + (to - from) / step * step;
+		rules.add(new int[]{from, to, step});
+	}
+
+	/**
+	 * Merges runs of three or more sorted values with a constant difference into progressions.
+	 *
+	 * @param rules  List of rules
+	 * @param values int[] sorted distinct values
+	 */
+	private static void addSingles(List<int[]> rules, int[] values)
+	{
+		int i = 0;
+
+		while (i < values.length)
+		{
+			int end = i;
+
+			if (i + 2 < values.length && values[i + 1] - values[i] == values[i + 2] - values[i + 1])
+			{
+				final int step = values[i + 1] - values[i];
+				end = i + 2;
+
+				while (end + 1 < values.length && values[end + 1] - values[end] == step)
+				{
+					end++;
+				}
+
+				rules.add(new int[]{values[i], values[end], step});
+			}
+			else
+			{
+				rules.add(new int[]{values[i], values[i], 1});
+			}
+
+			i = end + 1;
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		final StringBuilder builder = new StringBuilder();
+
+		for (int i = 0; i < from.length; i++)
+		{
+			if (i > 0)
+			{
+				builder.append(", ");
+			}
+
+			builder.append(from[i]);
+
+			if (to[i] != from[i])
+			{
+				builder.append('-').append(to[i]);
+
+				if (step[i] != 1)
+				{
+					builder.append(" step ").append(step[i]);
+				}
+			}
+		}
+
+		return builder.toString();
+	}
+}
@@ -0,0 +1,224 @@
+package com.antimated.milestones;
+
+import com.antimated.CatchUpMode;
+import com.antimated.CoalesceMode;
+import com.antimated.EvaluationMode;
+import com.antimated.MilestoneLevelsConfig;
+import com.antimated.notifications.NotificationTemplate;
+import com.antimated.util.Util;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Value;
+import net.runelite.api.Skill;
+
+/**
+ * Immutable snapshot of the plugin config.
+ * <p>
+ * Every config getter goes through the config proxy and the ConfigManager, which is far too slow to hit on every
+ * stat change. A snapshot is built once whenever the config changes and the hot path only reads its plain fields,
+ * this includes the compiled notification templates.
+ * <p>
+ * The builder works without a config, for the plugin as well as headless use of the milestone engine. Everything is
+ * disabled unless set.
+ */
+@Value
+@Builder(toBuilder = true)
+public class MilestoneSettings
+{
+	public static final MilestoneSettings DISABLED = builder().build();
+
+	// One bit per skill ordinal
+	@Getter(AccessLevel.NONE)
+	long enabledSkills;
+
+	boolean showVirtualLevels;
+
+	@Builder.Default
+	MilestoneIndex milestones = MilestoneIndex.EMPTY;
+
+	@Builder.Default
+	NotificationTemplate levelTitle = NotificationTemplate.EMPTY;
+
+	@Builder.Default
+	NotificationTemplate levelText = NotificationTemplate.EMPTY;
+
+	@Builder.Default
+	int levelColor = -1;
+
+	@Builder.Default
+	NotificationTemplate experienceTitle = NotificationTemplate.EMPTY;
+
+	@Builder.Default
+	NotificationTemplate experienceText = NotificationTemplate.EMPTY;
+
+	@Builder.Default
+	int experienceColor = -1;
+
+	@Builder.Default
+	CoalesceMode coalesceMode = CoalesceMode.OFF;
+
+	@Getter(AccessLevel.NONE)
+	@Builder.Default
+	int coalesceThreshold = Integer.MAX_VALUE;
+
+	@Builder.Default
+	NotificationTemplate summaryTitle = NotificationTemplate.EMPTY;
+
+	@Builder.Default
+	EvaluationMode evaluationMode = EvaluationMode.CLIENT_THREAD;
+
+	/**
+	 * How milestones reached while logged out, e.g. on another client, are announced on login.
+	 */
+	@Builder.Default
+	CatchUpMode catchUpMode = CatchUpMode.OFF;
+
+	@Builder.Default
+	NotificationTemplate catchUpTitle = NotificationTemplate.EMPTY;
+
+	/**
+	 * Reads the current config into a new snapshot.
+	 *
+	 * @param config MilestoneLevelsConfig
+	 * @return MilestoneSettings
+	 */
+	public static MilestoneSettings fromConfig(MilestoneLevelsConfig config)
+	{
+		final MilestoneSettingsBuilder builder = builder();
+
+		for (Skill skill : Skill.values())
+		{
+			builder.skill(skill.ordinal(), isSkillEnabled(config, skill));
+		}
+
+		return builder
+			.showVirtualLevels(config.showVirtualLevels())
+			.milestones(MilestoneIndex.compile(config.showOnLevels(), config.showOnExperience(), config.skillOverrides()))
+			.levelTitle(NotificationTemplate.compile(config.notificationLevelTitle()))
+			.levelText(NotificationTemplate.compile(config.notificationLevelText()))
+			.levelColor(Util.getIntValue(config.notificationLevelColor()))
+			.experienceTitle(NotificationTemplate.compile(config.notificationExperienceTitle()))
+			.experienceText(NotificationTemplate.compile(config.notificationExperienceText()))
+			.experienceColor(Util.getIntValue(config.notificationExperienceColor()))
+			.coalesceMode(config.coalesceMode())
+			.coalesceThreshold(config.coalesceThreshold())
+			.summaryTitle(NotificationTemplate.compile(config.notificationSummaryTitle()))
+			.evaluationMode(config.evaluationMode())
+			.catchUpMode(config.catchUpMode())
+			.catchUpTitle(NotificationTemplate.compile(config.notificationCatchUpTitle()))
+			.build();
+	}
+
+	/**
+	 * Check if we should notify for the given skill ordinal.
+	 *
+	 * @param skill int
+	 * @return boolean
+	 */
+	public boolean isSkillEnabled(int skill)
+	{
+		return (enabledSkills & (1L << skill)) != 0;
+	}
+
+	/**
+	 * Gets the minimum amount of milestones of a skill before they are merged into a summary.
+	 *
+	 * @return int
+	 */
+	public int getCoalesceThreshold()
+	{
+		return coalesceMode == CoalesceMode.OFF ? Integer.MAX_VALUE : coalesceThreshold;
+	}
+
+	/**
+	 * Check if we should notify for the given skill based off of our config settings.
+	 *
+	 * @param config MilestoneLevelsConfig
+	 * @param skill  Skill
+	 * @return boolean
+	 */
+	private static boolean isSkillEnabled(MilestoneLevelsConfig config, Skill skill)
+	{
+		switch (skill)
+		{
+			case ATTACK:
+				return config.showAttackNotifications();
+			case DEFENCE:
+				return config.showDefenceNotifications();
+			case STRENGTH:
+				return config.showStrengthNotifications();
+			case HITPOINTS:
+				return config.showHitpointsNotifications();
+			case RANGED:
+				return config.showRangedNotifications();
+			case PRAYER:
+				return config.showPrayerNotifications();
+			case MAGIC:
+				return config.showMagicNotifications();
+			case COOKING:
+				return config.showCookingNotifications();
+			case WOODCUTTING:
+				return config.showWoodcuttingNotifications();
+			case FLETCHING:
+				return config.showFletchingNotifications();
+			case FISHING:
+				return config.showFishingNotifications();
+			case FIREMAKING:
+				return config.showFiremakingNotifications();
+			case CRAFTING:
+				return config.showCraftingNotifications();
+			case SMITHING:
+				return config.showSmithingNotifications();
+			case MINING:
+				return config.showMiningNotifications();
+			case HERBLORE:
+				return config.showHerbloreNotifications();
+			case AGILITY:
+				return config.showAgilityNotifications();
+			case THIEVING:
+				return config.showThievingNotifications();
+			case SLAYER:
+				return config.showSlayerNotifications();
+			case FARMING:
+				return config.showFarmingNotifications();
+			case RUNECRAFT:
+				return config.showRunecraftNotifications();
+			case HUNTER:
+				return config.showHunterNotifications();
+			case CONSTRUCTION:
+				return config.showConstructionNotifications();
+			case SAILING:
+				return config.showSailingNotifications();
+		}
+
+		return true;
+	}
+
+	public static class MilestoneSettingsBuilder
+	{
+		public MilestoneSettingsBuilder skill(int skill, boolean enabled)
+		{
+			if (enabled)
+			{
+				enabledSkills |= 1L << skill;
+			}
+			else
+			{
+				enabledSkills &= ~(1L << skill);
+			}
+
+			return this;
+		}
+
+		public MilestoneSettingsBuilder allSkills(int skills)
+		{
+			for (int skill = 0; skill < skills; skill++)
+			{
+				skill(skill, true);
+			}
+
+			return this;
+		}
+	}
+}
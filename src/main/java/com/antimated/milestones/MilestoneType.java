@@ -0,0 +1,15 @@
+package com.antimated.milestones;
+
+public enum MilestoneType
+{
+	LEVEL,
+	VIRTUAL_LEVEL,
+	EXPERIENCE;
+
+	private static final MilestoneType[] VALUES = values();
+
+	public static MilestoneType of(int ordinal)
+	{
+		return VALUES[ordinal];
+	}
+}
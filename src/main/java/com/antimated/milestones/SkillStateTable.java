@@ -0,0 +1,146 @@
+package com.antimated.milestones;
+
+import java.util.Arrays;
+import net.runelite.api.Experience;
+
+/**
+ * Per-skill xp and level state, indexed by skill ordinal.
+ * <p>
+ * Backed by primitive arrays so recording a stat change never boxes or allocates. Skills that have not been seen yet
+ * report {@link #UNKNOWN} as their xp and level.
+ */
+public final class SkillStateTable
+{
+	public static final int UNKNOWN = -1;
+
+	private final int[] xp;
+
+	private final int[] levels;
+
+	// Xp range of the stored level, so the level only has to be looked up again when it actually changes.
+	private final int[] levelXp;
+
+	private final int[] levelUpXp;
+
+	// Xp at which the next milestone is reached, 0 forces the next update through a full evaluation.
+	private final int[] nextThresholds;
+
+	// One initialized bit per skill.
+	private final int[] initialized;
+
+	public SkillStateTable(int size)
+	{
+		xp = new int[size];
+		levels = new int[size];
+		levelXp = new int[size];
+		levelUpXp = new int[size];
+		nextThresholds = new int[size];
+		initialized = new int[(size + 31) >>> 5];
+		clear();
+	}
+
+	public int size()
+	{
+		return xp.length;
+	}
+
+	public boolean isInitialized(int skill)
+	{
+		return (initialized[skill >>> 5] & (1 << skill)) != 0;
+	}
+
+	/**
+	 * Gets the last known xp for a skill.
+	 *
+	 * @param skill int
+	 * @return int xp or {@link #UNKNOWN}
+	 */
+	public int getXp(int skill)
+	{
+		return xp[skill];
+	}
+
+	/**
+	 * Gets the last known level for a skill.
+	 *
+	 * @param skill int
+	 * @return int level or {@link #UNKNOWN}
+	 */
+	public int getLevel(int skill)
+	{
+		return levels[skill];
+	}
+
+	public int getNextThreshold(int skill)
+	{
+		return nextThresholds[skill];
+	}
+
+	public void setNextThreshold(int skill, int threshold)
+	{
+		nextThresholds[skill] = threshold;
+	}
+
+	/**
+	 * Records the xp of a skill, looking up the level only when it changed, in either direction.
+	 *
+	 * @param skill int
+	 * @param xp    int
+	 */
+	public void setXp(int skill, int xp)
+	{
+		this.xp[skill] = xp;
+		initialized[skill >>> 5] |= 1 << skill;
+
+		if (xp >= levelUpXp[skill] || xp < levelXp[skill])
+		{
+			final int level = Experience.getLevelForXp(xp);
+			levels[skill] = level;
+			levelXp[skill] = Experience.getXpForLevel(level);
+			levelUpXp[skill] = level < Experience.MAX_VIRT_LEVEL ? Experience.getXpForLevel(level + 1) : Integer.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Records the xp of a skill if it is still below the next milestone threshold and did not go down.
+	 * This is the hot path of every stat change and does nothing but a couple of compares and stores.
+	 * <p>
+	 * Xp going down (e.g. leaving LMS, or ::setstats) takes the slow path too, the threshold still belongs to the
+	 * higher xp and has to be computed again, or every milestone below it would be skipped on the way back up.
+	 *
+	 * @param skill int
+	 * @param xp    int
+	 * @return boolean true when no milestone can have been crossed
+	 */
+	public boolean recordIfBelowThreshold(int skill, int xp)
+	{
+		if (xp >= nextThresholds[skill] || xp < this.xp[skill])
+		{
+			return false;
+		}
+
+		setXp(skill, xp);
+		return true;
+	}
+
+	/**
+	 * Forces the next update of every skill to go through a full milestone evaluation.
+	 */
+	public void invalidateThresholds()
+	{
+		Arrays.fill(nextThresholds, 0);
+	}
+
+	/**
+	 * Resets every skill to unknown.
+	 */
+	public void clear()
+	{
+		Arrays.fill(xp, UNKNOWN);
+		Arrays.fill(levels, UNKNOWN);
+		Arrays.fill(levelXp, 0);
+		Arrays.fill(levelUpXp, 0);
+		Arrays.fill(initialized, 0);
+		invalidateThresholds();
+	}
+}
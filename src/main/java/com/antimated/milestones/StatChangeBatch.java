@@ -0,0 +1,70 @@
+package com.antimated.milestones;
+
+/**
+ * Collects the latest xp of every skill that changed during a game tick, so they can all be evaluated at once.
+ * <p>
+ * Logging in, or a multi-skill xp drop, fires a stat change per skill. Recording one is two stores, every dirty skill
+ * is then evaluated in skill order by whoever drains the batch.
+ */
+public final class StatChangeBatch
+{
+	private final int[] xp;
+
+	// One bit per skill ordinal with a recorded xp
+	private long dirty;
+
+	public StatChangeBatch(int skills)
+	{
+		xp = new int[skills];
+	}
+
+	/**
+	 * Records the xp of a skill, replacing the xp recorded earlier in the same batch.
+	 *
+	 * @param skill int skill ordinal
+	 * @param xp    int
+	 */
+	public void record(int skill, int xp)
+	{
+		this.xp[skill] = xp;
+		dirty |= 1L << skill;
+	}
+
+	public boolean isEmpty()
+	{
+		return dirty == 0;
+	}
+
+	/**
+	 * Removes the lowest dirty skill from the batch.
+	 *
+	 * @return int skill ordinal, or -1 when the batch is empty
+	 */
+	public int poll()
+	{
+		if (dirty == 0)
+		{
+			return -1;
+		}
+
+		final int skill = Long.numberOfTrailingZeros(dirty);
+		dirty &= dirty - 1;
+		return skill;
+	}
+
+	/**
+	 * Gets the latest xp recorded for a skill.
+	 *
+	 * @param skill int skill ordinal
+	 * @return int
+	 */
+	public int getXp(int skill)
+	{
+		return xp[skill];
+	}
+
+	public void clear()
+	{
+		dirty = 0;
+	}
+}
@@ -0,0 +1,104 @@
+package com.antimated.milestones;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer single-consumer ring of stat changes, stored as packed primitive entries.
+ * <p>
+ * One thread may offer and one other thread may poll without locking, the head and tail counters publish the entries
+ * between them. Offering and polling allocate nothing.
+ */
+public final class StatChangeRing
+{
+	public static final int SKILL = 0;
+
+	public static final int PREVIOUS_XP = 1;
+
+	public static final int CURRENT_XP = 2;
+
+	public static final int TOTAL_LEVEL = 3;
+
+	// Amount of ints in a single entry
+	public static final int STRIDE = 4;
+
+	private final int[] entries;
+
+	private final int mask;
+
+	// Next entry to poll, only written by the consumer
+	private final AtomicLong head = new AtomicLong();
+
+	// Next entry to offer, only written by the producer
+	private final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * @param capacity int rounded up to a power of two
+	 */
+	public StatChangeRing(int capacity)
+	{
+		final int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+		entries = new int[size * STRIDE];
+		mask = size - 1;
+	}
+
+	/**
+	 * Adds a stat change, only to be called by the producer.
+	 *
+	 * @param skill      int skill ordinal
+	 * @param previousXp int
+	 * @param currentXp  int
+	 * @param totalLevel int
+	 * @return boolean false when the ring is full
+	 */
+	public boolean offer(int skill, int previousXp, int currentXp, int totalLevel)
+	{
+		final long t = tail.get();
+
+		if (t - head.get() > mask)
+		{
+			return false;
+		}
+
+		final int offset = (int) (t & mask) * STRIDE;
+		entries[offset + SKILL] = skill;
+		entries[offset + PREVIOUS_XP] = previousXp;
+		entries[offset + CURRENT_XP] = currentXp;
+		entries[offset + TOTAL_LEVEL] = totalLevel;
+
+		// Publishes the entry to the consumer
+		tail.lazySet(t + 1);
+		return true;
+	}
+
+	/**
+	 * Removes the oldest stat change, only to be called by the consumer.
+	 *
+	 * @param entry int[] of at least STRIDE length, filled with the entry indexed by SKILL, PREVIOUS_XP, ...
+	 * @return boolean false when the ring is empty
+	 */
+	public boolean poll(int[] entry)
+	{
+		final long h = head.get();
+
+		if (h == tail.get())
+		{
+			return false;
+		}
+
+		System.arraycopy(entries, (int) (h & mask) * STRIDE, entry, 0, STRIDE);
+
+		// Hands the slot back to the producer
+		head.lazySet(h + 1);
+		return true;
+	}
+
+	public boolean isEmpty()
+	{
+		return head.get() == tail.get();
+	}
+
+	public int capacity()
+	{
+		return mask + 1;
+	}
+}
@@ -0,0 +1,75 @@
+package com.antimated.notifications;
+
+import com.antimated.milestones.MilestoneBuffer;
+import com.antimated.milestones.MilestoneCoalescer;
+import com.antimated.milestones.MilestoneType;
+import net.runelite.api.Experience;
+
+/**
+ * Merges the milestones every skill reached while logged out into a single "while you were away" notification.
+ * <p>
+ * Flush a coalescer into it with a threshold of 1, so every skill is handed over as a whole, then pack it.
+ */
+public final class CatchUpSummary implements MilestoneCoalescer.Sink
+{
+	private int milestones;
+
+	private int skills;
+
+	// The skill with the most important milestone, named in the title and text
+	private int topSkill;
+
+	private int topFromLevel;
+
+	private int topToLevel;
+
+	private NotificationPriority priority = NotificationPriority.LOW;
+
+	@Override
+	public void milestone(int skill, MilestoneType type, int value)
+	{
+		final int level = type == MilestoneType.EXPERIENCE ? Experience.getLevelForXp(value) : value;
+		add(skill, level, level, 1, NotificationPriority.of(type, value));
+	}
+
+	@Override
+	public void summary(int skill, MilestoneBuffer crossed)
+	{
+		add(skill, Experience.getLevelForXp(crossed.getPreviousXp()), Experience.getLevelForXp(crossed.getCurrentXp()), crossed.size(), NotificationPriority.highest(crossed));
+	}
+
+	public boolean isEmpty()
+	{
+		return milestones == 0;
+	}
+
+	/**
+	 * Packs everything added since the last call into a single catch-up fact and starts over.
+	 *
+	 * @param totalLevel int
+	 * @return long MilestoneFact
+	 */
+	public long pack(int totalLevel)
+	{
+		final long fact = MilestoneFact.catchUp(topSkill, topFromLevel, topToLevel, milestones, skills, priority, totalLevel);
+
+		milestones = 0;
+		skills = 0;
+		priority = NotificationPriority.LOW;
+		return fact;
+	}
+
+	private void add(int skill, int fromLevel, int toLevel, int count, NotificationPriority skillPriority)
+	{
+		if (milestones == 0 || skillPriority.compareTo(priority) > 0)
+		{
+			topSkill = skill;
+			topFromLevel = fromLevel;
+			topToLevel = toLevel;
+			priority = skillPriority;
+		}
+
+		milestones += count;
+		skills++;
+	}
+}
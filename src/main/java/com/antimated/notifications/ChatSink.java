@@ -0,0 +1,58 @@
+package com.antimated.notifications;
+
+import net.runelite.api.ChatMessageType;
+import net.runelite.client.chat.ChatMessageManager;
+import net.runelite.client.chat.QueuedMessage;
+
+/**
+ * Announces milestones as a game message in the chatbox.
+ */
+final class ChatSink extends RenderingSink
+{
+	private final ChatMessageManager chatMessageManager;
+
+	private final StringBuilder message = new StringBuilder();
+
+	ChatSink(ChatMessageManager chatMessageManager)
+	{
+		this.chatMessageManager = chatMessageManager;
+	}
+
+	@Override
+	public String getName()
+	{
+		return "chat";
+	}
+
+	@Override
+	public boolean isEnabled(OutputSettings outputs)
+	{
+		return outputs.isSendChatMessage();
+	}
+
+	@Override
+	protected void send(Notification notification, OutputSettings outputs)
+	{
+		message.setLength(0);
+
+		if (notification.getColor() >= 0)
+		{
+			message.append("<col=").append(Integer.toHexString(notification.getColor() & 0xffffff)).append('>');
+		}
+
+		message.append(notification.getTitle()).append(':');
+
+		if (notification.getColor() >= 0)
+		{
+			message.append("</col>");
+		}
+
+		// Title and text are already escaped, so they can go into the message as they are
+		message.append(' ').append(notification.getText());
+
+		chatMessageManager.queue(QueuedMessage.builder()
+			.type(ChatMessageType.GAMEMESSAGE)
+			.runeLiteFormattedMessage(message.toString())
+			.build());
+	}
+}
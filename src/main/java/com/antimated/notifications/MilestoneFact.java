@@ -0,0 +1,156 @@
+package com.antimated.notifications;
+
+/**
+ * Packs a milestone notification into a single long, so it can be queued without rendering its title and text.
+ * <p>
+ * The layout from the lowest bit up is the value (28 bits, enough for 200M xp), the details (27 bits: the level a
+ * summary starts from, a count and the total level), the skill ordinal (5 bits), the priority (2 bits) and the kind
+ * (2 bits). What value and count mean depends on the kind:
+ * <ul>
+ * <li>{@link #LEVEL}: the level reached, real or virtual</li>
+ * <li>{@link #EXPERIENCE}: the xp reached</li>
+ * <li>{@link #SUMMARY}: the xp a skill ended at, and the amount of milestones it crossed</li>
+ * <li>{@link #CATCH_UP}: the level and amount of milestones reached while away, and the amount of skills</li>
+ * </ul>
+ */
+public final class MilestoneFact
+{
+	public static final int LEVEL = 0;
+
+	public static final int EXPERIENCE = 1;
+
+	public static final int SUMMARY = 2;
+
+	public static final int CATCH_UP = 3;
+
+	private static final int VALUE_BITS = 28;
+
+	private static final int FROM_LEVEL_SHIFT = VALUE_BITS;
+
+	private static final int COUNT_SHIFT = FROM_LEVEL_SHIFT + 7;
+
+	private static final int TOTAL_LEVEL_SHIFT = COUNT_SHIFT + 8;
+
+	private static final int SKILL_SHIFT = TOTAL_LEVEL_SHIFT + 12;
+
+	private static final int PRIORITY_SHIFT = SKILL_SHIFT + 5;
+
+	private static final int KIND_SHIFT = PRIORITY_SHIFT + 2;
+
+	// Catch-up facts keep the level in the top bits of the value, next to the amount of milestones
+	private static final int CATCH_UP_LEVEL_SHIFT = 21;
+
+	private static final NotificationPriority[] PRIORITIES = NotificationPriority.values();
+
+	private MilestoneFact()
+	{
+	}
+
+	public static long level(int skill, int level, NotificationPriority priority, int totalLevel)
+	{
+		return pack(LEVEL, skill, priority, level, 0, 0, totalLevel);
+	}
+
+	public static long experience(int skill, int xp, NotificationPriority priority, int totalLevel)
+	{
+		return pack(EXPERIENCE, skill, priority, xp, 0, 0, totalLevel);
+	}
+
+	/**
+	 * @param skill      int skill ordinal
+	 * @param fromLevel  int level before the milestones were crossed
+	 * @param currentXp  int xp after the milestones were crossed
+	 * @param count      int amount of milestones, capped at 255
+	 * @param priority   NotificationPriority
+	 * @param totalLevel int
+	 * @return long
+	 */
+	public static long summary(int skill, int fromLevel, int currentXp, int count, NotificationPriority priority, int totalLevel)
+	{
+		return pack(SUMMARY, skill, priority, currentXp, fromLevel, count, totalLevel);
+	}
+
+	/**
+	 * @param skill      int ordinal of the skill with the most important milestone
+	 * @param fromLevel  int level of that skill before logging out
+	 * @param toLevel    int level of that skill now
+	 * @param milestones int amount of milestones in every skill
+	 * @param skills     int amount of skills
+	 * @param priority   NotificationPriority
+	 * @param totalLevel int
+	 * @return long
+	 */
+	public static long catchUp(int skill, int fromLevel, int toLevel, int milestones, int skills, NotificationPriority priority, int totalLevel)
+	{
+		final int value = toLevel << CATCH_UP_LEVEL_SHIFT | Math.min(milestones, (1 << CATCH_UP_LEVEL_SHIFT) - 1);
+		return pack(CATCH_UP, skill, priority, value, fromLevel, skills, totalLevel);
+	}
+
+	public static int getKind(long fact)
+	{
+		return (int) (fact >>> KIND_SHIFT);
+	}
+
+	public static NotificationPriority getPriority(long fact)
+	{
+		return PRIORITIES[(int) (fact >>> PRIORITY_SHIFT) & 0x3];
+	}
+
+	public static int getSkill(long fact)
+	{
+		return (int) (fact >>> SKILL_SHIFT) & 0x1f;
+	}
+
+	/**
+	 * Gets the level or xp of a level, xp or summary fact.
+	 *
+	 * @param fact long
+	 * @return int
+	 */
+	public static int getValue(long fact)
+	{
+		return (int) fact & ((1 << VALUE_BITS) - 1);
+	}
+
+	public static int getFromLevel(long fact)
+	{
+		return (int) (fact >>> FROM_LEVEL_SHIFT) & 0x7f;
+	}
+
+	/**
+	 * Gets the amount of milestones of a summary, or the amount of skills of a catch-up fact.
+	 *
+	 * @param fact long
+	 * @return int
+	 */
+	public static int getCount(long fact)
+	{
+		return (int) (fact >>> COUNT_SHIFT) & 0xff;
+	}
+
+	public static int getTotalLevel(long fact)
+	{
+		return (int) (fact >>> TOTAL_LEVEL_SHIFT) & 0xfff;
+	}
+
+	public static int getCatchUpLevel(long fact)
+	{
+		return getValue(fact) >>> CATCH_UP_LEVEL_SHIFT;
+	}
+
+	public static int getCatchUpMilestones(long fact)
+	{
+		return getValue(fact) & ((1 << CATCH_UP_LEVEL_SHIFT) - 1);
+	}
+
+	private static long pack(int kind, int skill, NotificationPriority priority, int value, int fromLevel, int count, int totalLevel)
+	{
+		return (long) kind << KIND_SHIFT
+			| (long) priority.ordinal() << PRIORITY_SHIFT
+			| (long) (skill & 0x1f) << SKILL_SHIFT
+			| (long) (totalLevel & 0xfff) << TOTAL_LEVEL_SHIFT
+			| (long) Math.min(count, 0xff) << COUNT_SHIFT
+			| (long) (fromLevel & 0x7f) << FROM_LEVEL_SHIFT
+			| value & ((1L << VALUE_BITS) - 1);
+	}
+}
@@ -0,0 +1,61 @@
+package com.antimated.notifications;
+
+import com.antimated.milestones.MilestoneBuffer;
+import com.antimated.milestones.MilestoneCoalescer;
+import com.antimated.milestones.MilestoneType;
+import java.util.function.LongConsumer;
+import net.runelite.api.Experience;
+
+/**
+ * Packs crossed milestones into {@link MilestoneFact}s, their text is only rendered once they are displayed.
+ * <p>
+ * Holds the total level of the stat change being emitted, every thread publishing milestones needs its own publisher.
+ */
+public final class MilestonePublisher implements MilestoneCoalescer.Sink
+{
+	private final LongConsumer target;
+
+	private int totalLevel;
+
+	/**
+	 * @param target LongConsumer receiving every milestone fact
+	 */
+	public MilestonePublisher(LongConsumer target)
+	{
+		this.target = target;
+	}
+
+	/**
+	 * Sets the total level the next milestones are published with.
+	 *
+	 * @param totalLevel int
+	 * @return MilestonePublisher
+	 */
+	public MilestonePublisher prepare(int totalLevel)
+	{
+		this.totalLevel = totalLevel;
+		return this;
+	}
+
+	@Override
+	public void milestone(int skill, MilestoneType type, int value)
+	{
+		final NotificationPriority priority = NotificationPriority.of(type, value);
+
+		if (type == MilestoneType.EXPERIENCE)
+		{
+			target.accept(MilestoneFact.experience(skill, value, priority, totalLevel));
+		}
+		else
+		{
+			target.accept(MilestoneFact.level(skill, value, priority, totalLevel));
+		}
+	}
+
+	@Override
+	public void summary(int skill, MilestoneBuffer crossed)
+	{
+		final int fromLevel = Experience.getLevelForXp(crossed.getPreviousXp());
+		target.accept(MilestoneFact.summary(skill, fromLevel, crossed.getCurrentXp(), crossed.size(), NotificationPriority.highest(crossed), totalLevel));
+	}
+}
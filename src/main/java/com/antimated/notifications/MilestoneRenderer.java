@@ -0,0 +1,159 @@
+package com.antimated.notifications;
+
+import com.antimated.milestones.MilestoneSettings;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+import net.runelite.client.util.QuantityFormatter;
+
+/**
+ * Renders queued {@link MilestoneFact}s into notifications with the compiled templates of a settings snapshot.
+ * <p>
+ * Only used on the client thread right before a notification is displayed, so template and color changes made while
+ * notifications are queued still apply to them.
+ */
+@Slf4j
+public final class MilestoneRenderer
+{
+	private static final Skill[] SKILLS = Skill.values();
+
+	private final StringBuilder templateBuffer = new StringBuilder();
+
+	/**
+	 * Renders a fact into a reusable notification.
+	 *
+	 * @param fact     long
+	 * @param settings MilestoneSettings
+	 * @param into     Notification overwritten with the rendered title, text, color and priority
+	 */
+	public void render(long fact, MilestoneSettings settings, Notification into)
+	{
+		switch (MilestoneFact.getKind(fact))
+		{
+			case MilestoneFact.LEVEL:
+				level(fact, settings, into);
+				break;
+
+			case MilestoneFact.EXPERIENCE:
+				experience(fact, settings, into);
+				break;
+
+			case MilestoneFact.SUMMARY:
+				summary(fact, settings, into);
+				break;
+
+			default:
+				catchUp(fact, settings, into);
+				break;
+		}
+	}
+
+	/**
+	 * Renders a level-up notification.
+	 *
+	 * @param fact     long
+	 * @param settings MilestoneSettings
+	 * @param into     Notification
+	 */
+	private void level(long fact, MilestoneSettings settings, Notification into)
+	{
+		Skill skill = SKILLS[MilestoneFact.getSkill(fact)];
+		int totalLevel = MilestoneFact.getTotalLevel(fact);
+		int level = MilestoneFact.getValue(fact);
+		int xp = Experience.getXpForLevel(level);
+		String title = settings.getLevelTitle().render(templateBuffer, skill, level, xp, totalLevel);
+		String text = settings.getLevelText().render(templateBuffer, skill, level, xp, totalLevel);
+
+		log.debug("Notify {}up milestone reached for {} to level {}", level > Experience.MAX_REAL_LEVEL ? "virtual level-" : "level-", skill.getName(), level);
+		into.set(title, text, settings.getLevelColor(), MilestoneFact.getPriority(fact));
+	}
+
+	/**
+	 * Renders an xp notification.
+	 *
+	 * @param fact     long
+	 * @param settings MilestoneSettings
+	 * @param into     Notification
+	 */
+	private void experience(long fact, MilestoneSettings settings, Notification into)
+	{
+		Skill skill = SKILLS[MilestoneFact.getSkill(fact)];
+		int totalLevel = MilestoneFact.getTotalLevel(fact);
+		int xp = MilestoneFact.getValue(fact);
+		int level = Experience.getLevelForXp(xp);
+		String title = settings.getExperienceTitle().render(templateBuffer, skill, level, xp, totalLevel);
+		String text = settings.getExperienceText().render(templateBuffer, skill, level, xp, totalLevel);
+
+		log.debug("Notify xp milestone reached for {} to xp {}", skill.getName(), QuantityFormatter.formatNumber(xp));
+		into.set(title, text, settings.getExperienceColor(), MilestoneFact.getPriority(fact));
+	}
+
+	/**
+	 * Renders a single notification summarizing every milestone a skill crossed at once.
+	 *
+	 * @param fact     long
+	 * @param settings MilestoneSettings
+	 * @param into     Notification
+	 */
+	private void summary(long fact, MilestoneSettings settings, Notification into)
+	{
+		Skill skill = SKILLS[MilestoneFact.getSkill(fact)];
+		int totalLevel = MilestoneFact.getTotalLevel(fact);
+		int currentXp = MilestoneFact.getValue(fact);
+		int toLevel = Experience.getLevelForXp(currentXp);
+		int count = MilestoneFact.getCount(fact);
+		String title = settings.getSummaryTitle().render(templateBuffer, skill, toLevel, currentXp, totalLevel);
+
+		// Already escaped, "->" has to be written as "-<gt>" to show up in the notification
+		templateBuffer.setLength(0);
+		String text = templateBuffer
+			.append(skill.getName()).append(' ')
+			.append(MilestoneFact.getFromLevel(fact)).append(" -<gt> ").append(toLevel)
+			.append(" (").append(count).append(" milestones)")
+			.toString();
+
+		log.debug("Notify summary of {} milestones for {}", count, skill.getName());
+		into.set(title, text, settings.getLevelColor(), MilestoneFact.getPriority(fact));
+	}
+
+	/**
+	 * Renders the "while you were away" notification, naming the skill with the most important milestone.
+	 *
+	 * @param fact     long
+	 * @param settings MilestoneSettings
+	 * @param into     Notification
+	 */
+	private void catchUp(long fact, MilestoneSettings settings, Notification into)
+	{
+		Skill skill = SKILLS[MilestoneFact.getSkill(fact)];
+		int totalLevel = MilestoneFact.getTotalLevel(fact);
+		int toLevel = MilestoneFact.getCatchUpLevel(fact);
+		int milestones = MilestoneFact.getCatchUpMilestones(fact);
+		int skills = MilestoneFact.getCount(fact);
+		String title = settings.getCatchUpTitle().render(templateBuffer, skill, toLevel, Experience.getXpForLevel(toLevel), totalLevel);
+
+		// Already escaped, "->" has to be written as "-<gt>" to show up in the notification
+		templateBuffer.setLength(0);
+
+		if (skills == 1)
+		{
+			templateBuffer.append(skill.getName()).append(' ').append(MilestoneFact.getFromLevel(fact)).append(" -<gt> ").append(toLevel).append(" (");
+		}
+
+		templateBuffer.append(milestones).append(" milestones");
+
+		if (skills == 1)
+		{
+			templateBuffer.append(')');
+		}
+		else
+		{
+			templateBuffer.append(" in ").append(skills).append(" skills");
+		}
+
+		String text = templateBuffer.toString();
+
+		log.debug("Notify {} milestones in {} skills reached while away", milestones, skills);
+		into.set(title, text, settings.getLevelColor(), MilestoneFact.getPriority(fact));
+	}
+}
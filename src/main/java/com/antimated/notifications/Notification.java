@@ -2,24 +2,36 @@ package com.antimated.notifications;
 
 public class Notification
 {
-	private final String title;
-	private final String text;
-	private final int color;
+	private String title;
+	private String text;
+	private int color;
+	private NotificationPriority priority;
 
-	// Constructor with color
-	public Notification(String title, String text, int color)
+	// Constructor with color and priority
+	public Notification(String title, String text, int color, NotificationPriority priority)
 	{
 		this.title = title;
 		this.text = text;
 		this.color = color;
+		this.priority = priority;
+	}
+
+	// Constructor with color
+	public Notification(String title, String text, int color)
+	{
+		this(title, text, color, NotificationPriority.NORMAL);
 	}
 
 	// Constructor without color
 	public Notification(String title, String text)
 	{
-		this.title = title;
-		this.text = text;
-		this.color = -1; // Default or sentinel value for no color
+		this(title, text, -1); // Default or sentinel value for no color
+	}
+
+	// Empty notification, filled in by set
+	Notification()
+	{
+		this(null, null, -1, NotificationPriority.NORMAL);
 	}
 
 	public String getTitle()
@@ -36,4 +48,25 @@ public class Notification
 	{
 		return color;
 	}
+
+	public NotificationPriority getPriority()
+	{
+		return priority;
+	}
+
+	/**
+	 * Overwrites every field, used to render into a reused notification.
+	 *
+	 * @param title    String
+	 * @param text     String
+	 * @param color    int
+	 * @param priority NotificationPriority
+	 */
+	void set(String title, String text, int color, NotificationPriority priority)
+	{
+		this.title = title;
+		this.text = text;
+		this.color = color;
+		this.priority = priority;
+	}
 }
@@ -1,7 +1,15 @@
 package com.antimated.notifications;
 
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import com.antimated.EvictionPolicy;
+import com.antimated.milestones.MilestoneSettings;
+import com.antimated.stats.MilestoneStats;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -9,10 +17,14 @@ import net.runelite.api.Client;
 import net.runelite.api.WidgetNode;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ScriptPostFired;
+import net.runelite.api.events.WidgetClosed;
+import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetModalMode;
 import net.runelite.api.widgets.WidgetUtil;
-import net.runelite.client.callback.ClientThread;
+import net.runelite.client.Notifier;
+import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 
@@ -26,21 +38,142 @@ public class NotificationManager
 
 	private static final int INTERFACE_ID = 660;
 
-	private final Queue<Notification> notifications = new ConcurrentLinkedQueue<>();
+	// Amount of milestones an asynchronous sink may fall behind before new ones are dropped for it
+	private static final int SINK_CAPACITY = 64;
+
+	// Asynchronous sinks that may be stalled at once without holding up the others
+	private static final int SINK_THREADS = 4;
+
+	// Both the client thread and the milestone pipeline's worker thread produce notifications
+	private final NotificationRing incoming = new NotificationRing(256, true);
+
+	// Only used on the client thread, apart from clearing
+	private final NotificationQueue notifications = new NotificationQueue(50, EvictionPolicy.DROP_LOWEST_PRIORITY, 0);
+
+	private final NotificationRing.Sink enqueue = this::enqueue;
+
+	private final NotificationSink widget = new WidgetSink(notifications);
+
+	// Every queued milestone is fanned out to the enabled sinks on the client thread, asynchronous ones through a worker
+	private final List<NotificationSink> sinks = new CopyOnWriteArrayList<>(Collections.singletonList(widget));
+
+	private final List<SinkWorker> workers = new CopyOnWriteArrayList<>();
+
+	private ExecutorService sinkExecutor;
+
+	// Only used on the client thread, queued facts are rendered into the same notification right before display
+	private final MilestoneRenderer renderer = new MilestoneRenderer();
+
+	private final Notification notification = new Notification();
+
+	private final long[] entry = new long[2];
+
+	private volatile MilestoneSettings settings = MilestoneSettings.DISABLED;
+
+	private volatile OutputSettings outputs = OutputSettings.DISABLED;
+
+	private enum DisplayState
+	{
+		// Nothing of ours is displayed
+		IDLE,
+		// Our notification is open and animating
+		SHOWING,
+		// Our notification collapsed and its interface is being closed
+		CLOSING
+	}
+
+	// Display state is only touched on the client thread
+	private DisplayState displayState = DisplayState.IDLE;
+
+	// Whether any notification interface is open, ours or another one (collection log, league task, ...)
+	private boolean interfaceOpen;
+
+	private WidgetNode notificationNode;
+
+	private Widget notificationWidget;
+
+	private long displayedAt;
 
 	@Inject
 	private Client client;
 
 	@Inject
-	private ClientThread clientThread;
+	private EventBus eventBus;
 
 	@Inject
-	private EventBus eventBus;
+	private MilestoneStats stats;
 
-	@Subscribe
+	@Inject
+	private ChatMessageManager chatMessageManager;
+
+	@Inject
+	private Notifier notifier;
+
+	// Only registered while notifications are queued or displayed, guarded by this
+	private volatile EventBus.Subscriber tickSubscriber;
+
+	/**
+	 * Handles a game tick, only subscribed while there is something to display or close.
+	 *
+	 * @param event GameTick
+	 */
 	public void onGameTick(GameTick event)
 	{
-		processNotification();
+		// Everything offered since the last tick moves into the priority queue at once, in the order it was offered
+		incoming.drainTo(enqueue);
+
+		switch (displayState)
+		{
+			case IDLE:
+				// Nothing to do at all while the queue is empty
+				if (!interfaceOpen && !notifications.isEmpty())
+				{
+					processNotification();
+				}
+				break;
+
+			case SHOWING:
+				closeWhenCollapsed();
+				break;
+
+			case CLOSING:
+				// The close should have been confirmed by a WidgetClosed already, don't wait for it forever
+				resetDisplay();
+				break;
+		}
+
+		if (displayState == DisplayState.IDLE && notifications.isEmpty())
+		{
+			unsubscribeTick();
+		}
+	}
+
+	@Subscribe
+	public void onWidgetLoaded(WidgetLoaded widgetLoaded)
+	{
+		if (widgetLoaded.getGroupId() == INTERFACE_ID)
+		{
+			interfaceOpen = true;
+		}
+	}
+
+	@Subscribe
+	public void onWidgetClosed(WidgetClosed widgetClosed)
+	{
+		if (widgetClosed.getGroupId() == INTERFACE_ID)
+		{
+			resetDisplay();
+		}
+	}
+
+	@Subscribe
+	public void onScriptPostFired(ScriptPostFired scriptPostFired)
+	{
+		// The notification widget is only laid out once the init script ran
+		if (scriptPostFired.getScriptId() == SCRIPT_ID && displayState == DisplayState.SHOWING)
+		{
+			notificationWidget = client.getWidget(INTERFACE_ID, 1);
+		}
 	}
 
 	@Subscribe
@@ -55,6 +188,7 @@ public class NotificationManager
 			case LOGIN_SCREEN_AUTHENTICATOR:
 			case CONNECTION_LOST:
 				clearNotifications();
+				resetDisplay();
 				break;
 		}
 	}
@@ -62,6 +196,20 @@ public class NotificationManager
 	public void startUp()
 	{
 		log.debug("NotificationManager startUp()");
+
+		// Core threads time out, so no thread is kept around while no asynchronous sink is enabled
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(SINK_THREADS, SINK_THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, "Milestone Levels sink");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		sinkExecutor = executor;
+
+		addSink(new ChatSink(chatMessageManager));
+		addSink(new NotifierSink(notifier));
+		addSink(new SoundSink(client));
+
 		eventBus.register(this);
 	}
 
@@ -70,37 +218,141 @@ public class NotificationManager
 		log.debug("NotificationManager shutDown()");
 		clearNotifications();
 		eventBus.unregister(this);
+
+		// The widget is displayed by this manager itself, every other sink is added again on start up
+		sinks.removeIf(sink -> sink != widget);
+		workers.clear();
+		sinkExecutor.shutdownNow();
+
+		synchronized (this)
+		{
+			if (tickSubscriber != null)
+			{
+				eventBus.unregister(tickSubscriber);
+				tickSubscriber = null;
+			}
+		}
 	}
 
-	public void addNotification(String title, String text)
+	/**
+	 * Queues a milestone, its notification is rendered once it is displayed.
+	 *
+	 * @param fact long MilestoneFact
+	 */
+	public void addMilestone(long fact)
 	{
-		addNotification(title, text, -1);
+		if (!incoming.offer(fact))
+		{
+			log.debug("Notification ring full, dropped {} notification of kind {}", MilestoneFact.getPriority(fact), MilestoneFact.getKind(fact));
+			return;
+		}
+
+		if (tickSubscriber == null)
+		{
+			subscribeTick();
+		}
 	}
 
-	public void addNotification(String title, String text, int color)
+	/**
+	 * Adds an output for milestones. Asynchronous sinks get a bounded queue of their own and are called on the sink
+	 * executor, so only to be called between {@link #startUp()} and {@link #shutDown()}.
+	 *
+	 * @param sink NotificationSink
+	 */
+	public void addSink(NotificationSink sink)
 	{
-		Notification notification = new Notification(title, text, color);
-		notifications.offer(notification);
+		if (sink.isAsynchronous())
+		{
+			SinkWorker worker = new SinkWorker(sink, SINK_CAPACITY, sinkExecutor, () -> settings, () -> outputs);
+			workers.add(worker);
+			sinks.add(worker);
+		}
+		else
+		{
+			sinks.add(sink);
+		}
 	}
 
 	/**
-	 * Processes a notification
+	 * Sets the settings whose templates and colors queued milestones are rendered with.
+	 *
+	 * @param settings MilestoneSettings
 	 */
-	private void processNotification()
+	public void setSettings(MilestoneSettings settings)
 	{
-		// Don't process when any type of notification is visible (collection log, league task, one of our own, ...)
-		if (client.getWidget(INTERFACE_ID, 1) != null)
+		this.settings = settings;
+	}
+
+	/**
+	 * Sets where queued milestones are announced.
+	 *
+	 * @param outputs OutputSettings
+	 */
+	public void setOutputs(OutputSettings outputs)
+	{
+		this.outputs = outputs;
+	}
+
+	/**
+	 * Updates the capacity, eviction policy and time to live of the notification queue.
+	 *
+	 * @param capacity       int
+	 * @param evictionPolicy EvictionPolicy
+	 * @param timeToLive     int seconds, 0 to never expire
+	 */
+	public void configureQueue(int capacity, EvictionPolicy evictionPolicy, int timeToLive)
+	{
+		notifications.configure(capacity, evictionPolicy, timeToLive * 1000L);
+	}
+
+	/**
+	 * Gets the amount of notifications dropped because the queue was full, or because a sink fell behind.
+	 *
+	 * @return long
+	 */
+	public long getDroppedCount()
+	{
+		long dropped = notifications.getDroppedCount() + incoming.getRejectedCount();
+
+		for (SinkWorker worker : workers)
 		{
-			return;
+			dropped += worker.getDroppedCount();
 		}
-		// Only process notifications if the queue is not empty AND the queue is not processing any notifications.
-		if (!notifications.isEmpty())
-		{
-			// Get and remove the first element in the notifications queue.
-			Notification notification = notifications.poll();
 
-			// Display notification
-			displayNotification(notification);
+		return dropped;
+	}
+
+	public long getExpiredCount()
+	{
+		return notifications.getExpiredCount();
+	}
+
+	public int getQueueSize()
+	{
+		return notifications.size();
+	}
+
+	public int getQueueHighWaterMark()
+	{
+		return notifications.getHighWaterMark();
+	}
+
+	public void resetQueueHighWaterMark()
+	{
+		notifications.resetHighWaterMark();
+	}
+
+	/**
+	 * Processes a notification
+	 */
+	private void processNotification()
+	{
+		// Get and remove the highest priority notification that has not expired yet.
+		if (notifications.poll(entry))
+		{
+			// Render with the current templates, then display the notification
+			renderer.render(entry[NotificationQueue.FACT], settings, notification);
+			displayNotification(notification, entry[NotificationQueue.CREATED_AT]);
 		}
 	}
 
@@ -110,36 +362,122 @@ public class NotificationManager
 	 */
 	public void clearNotifications()
 	{
+		incoming.clear();
 		notifications.clear();
+
+		for (SinkWorker worker : workers)
+		{
+			worker.clear();
+		}
+	}
+
+	private synchronized void subscribeTick()
+	{
+		if (tickSubscriber == null)
+		{
+			tickSubscriber = eventBus.register(GameTick.class, this::onGameTick, 0);
+		}
 	}
 
 	/**
-	 * Display a notification and close it afterward.
+	 * Stops listening to game ticks once nothing is queued or displayed anymore.
+	 */
+	private synchronized void unsubscribeTick()
+	{
+		if (tickSubscriber == null || !incoming.isDrained())
+		{
+			return;
+		}
+
+		eventBus.unregister(tickSubscriber);
+		tickSubscriber = null;
+
+		// A notification offered after the drained check saw the subscription still in place, so it won't subscribe
+		if (!incoming.isDrained())
+		{
+			subscribeTick();
+		}
+	}
+
+	/**
+	 * Fans a milestone out to every enabled sink.
+	 *
+	 * @param fact      long MilestoneFact
+	 * @param createdAt long
+	 */
+	private void enqueue(long fact, long createdAt)
+	{
+		final MilestoneSettings settings = this.settings;
+		final OutputSettings outputs = this.outputs;
+
+		for (NotificationSink sink : sinks)
+		{
+			if (!sink.isEnabled(outputs))
+			{
+				continue;
+			}
+
+			try
+			{
+				sink.send(fact, createdAt, settings, outputs);
+			}
+			catch (RuntimeException e)
+			{
+				log.warn("Notification sink {} failed", sink.getName(), e);
+			}
+		}
+	}
+
+	/**
+	 * Display a notification, it is closed by {@link #closeWhenCollapsed()} once its animation finished.
 	 *
 	 * @param notification Notification
+	 * @param createdAt    long time in milliseconds the notification was queued at
 	 */
-	private void displayNotification(Notification notification) throws IllegalStateException, IllegalArgumentException
+	private void displayNotification(Notification notification, long createdAt) throws IllegalStateException, IllegalArgumentException
 	{
-		WidgetNode notificationNode = client.openInterface(COMPONENT_ID, INTERFACE_ID, WidgetModalMode.MODAL_CLICKTHROUGH);
-		Widget notificationWidget = client.getWidget(INTERFACE_ID, 1);
+		displayedAt = System.currentTimeMillis();
+		stats.recordQueueWait(displayedAt - createdAt);
+
+		displayState = DisplayState.SHOWING;
+		interfaceOpen = true;
+		notificationWidget = null;
+		notificationNode = client.openInterface(COMPONENT_ID, INTERFACE_ID, WidgetModalMode.MODAL_CLICKTHROUGH);
 
 		// Runs a client script to set the initial title, text and color values of the notifications
 		client.runScript(SCRIPT_ID, notification.getTitle(), notification.getText(), notification.getColor());
+	}
+
+	/**
+	 * Closes our notification interface once the widget fully collapsed.
+	 */
+	private void closeWhenCollapsed()
+	{
+		if (notificationWidget == null)
+		{
+			notificationWidget = client.getWidget(INTERFACE_ID, 1);
+		}
 
 		// Only remove notification when widget is fully closed.
-		clientThread.invokeLater(() -> {
-			assert notificationWidget != null;
+		if (notificationWidget != null && notificationWidget.getWidth() > 0)
+		{
+			return;
+		}
 
-			if (notificationWidget.getWidth() > 0)
-			{
-				return false;
-			}
+		displayState = DisplayState.CLOSING;
+		client.closeInterface(notificationNode, true);
+	}
 
-			// Close the interface
-			client.closeInterface(notificationNode, true);
+	private void resetDisplay()
+	{
+		if (displayState != DisplayState.IDLE)
+		{
+			stats.recordDisplayTime(System.currentTimeMillis() - displayedAt);
+		}
 
-			// Invoke done
-			return true;
-		});
+		displayState = DisplayState.IDLE;
+		interfaceOpen = false;
+		notificationNode = null;
+		notificationWidget = null;
 	}
 }
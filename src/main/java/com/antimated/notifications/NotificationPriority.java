@@ -0,0 +1,60 @@
+package com.antimated.notifications;
+
+import com.antimated.milestones.MilestoneBuffer;
+import com.antimated.milestones.MilestoneType;
+import net.runelite.api.Experience;
+
+public enum NotificationPriority
+{
+	// Routine xp milestones
+	LOW,
+	// Regular and virtual levels
+	NORMAL,
+	// Level 99 and 200M xp
+	HIGH;
+
+	/**
+	 * Gets the priority of a crossed milestone.
+	 *
+	 * @param type  MilestoneType
+	 * @param value int level or xp
+	 * @return NotificationPriority
+	 */
+	public static NotificationPriority of(MilestoneType type, int value)
+	{
+		switch (type)
+		{
+			case LEVEL:
+				return value == Experience.MAX_REAL_LEVEL ? HIGH : NORMAL;
+			case VIRTUAL_LEVEL:
+				return NORMAL;
+			case EXPERIENCE:
+				return value == Experience.MAX_SKILL_XP ? HIGH : LOW;
+		}
+
+		return NORMAL;
+	}
+
+	/**
+	 * Gets the highest priority of a set of crossed milestones.
+	 *
+	 * @param crossed MilestoneBuffer
+	 * @return NotificationPriority
+	 */
+	public static NotificationPriority highest(MilestoneBuffer crossed)
+	{
+		NotificationPriority priority = LOW;
+
+		for (int i = 0; i < crossed.size(); i++)
+		{
+			NotificationPriority milestonePriority = of(crossed.getType(i), crossed.getValue(i));
+
+			if (milestonePriority.compareTo(priority) > 0)
+			{
+				priority = milestonePriority;
+			}
+		}
+
+		return priority;
+	}
+}
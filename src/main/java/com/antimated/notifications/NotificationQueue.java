@@ -0,0 +1,349 @@
+package com.antimated.notifications;
+
+import com.antimated.EvictionPolicy;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded queue of {@link MilestoneFact}s with one FIFO lane per priority.
+ * <p>
+ * Higher priorities are always polled first. When the queue is full the eviction policy decides which notification
+ * makes room, and notifications older than the time to live are dropped instead of being displayed.
+ * <p>
+ * Lanes are growable rings of primitive longs holding a fact and the time it was created at, so a queue that doesn't
+ * grow past its capacity allocates nothing, and nothing is rendered for a notification that never gets displayed.
+ */
+public class NotificationQueue
+{
+	// Indexes of a polled entry
+	public static final int FACT = 0;
+
+	public static final int CREATED_AT = 1;
+
+	private static final int PRIORITIES = NotificationPriority.values().length;
+
+	private final Lane[] lanes = new Lane[PRIORITIES];
+
+	private final LongSupplier clock;
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	private final AtomicLong expired = new AtomicLong();
+
+	private int capacity;
+
+	private EvictionPolicy evictionPolicy;
+
+	private long timeToLive;
+
+	private int size;
+
+	private int highWaterMark;
+
+	public NotificationQueue(int capacity, EvictionPolicy evictionPolicy, long timeToLive)
+	{
+		this(capacity, evictionPolicy, timeToLive, System::currentTimeMillis);
+	}
+
+	NotificationQueue(int capacity, EvictionPolicy evictionPolicy, long timeToLive, LongSupplier clock)
+	{
+		this.clock = clock;
+
+		for (int i = 0; i < lanes.length; i++)
+		{
+			lanes[i] = new Lane();
+		}
+
+		configure(capacity, evictionPolicy, timeToLive);
+	}
+
+	/**
+	 * Updates the limits of the queue, evicting notifications when the capacity shrinks.
+	 *
+	 * @param capacity       int maximum amount of queued notifications
+	 * @param evictionPolicy EvictionPolicy
+	 * @param timeToLive     long milliseconds a notification may wait before it is dropped, 0 to never expire
+	 */
+	public synchronized void configure(int capacity, EvictionPolicy evictionPolicy, long timeToLive)
+	{
+		this.capacity = Math.max(capacity, 1);
+		this.evictionPolicy = evictionPolicy;
+		this.timeToLive = timeToLive;
+
+		while (size > this.capacity)
+		{
+			evict();
+		}
+	}
+
+	/**
+	 * Adds a fact, evicting another one when the queue is full.
+	 *
+	 * @param fact      long MilestoneFact
+	 * @param createdAt long time in milliseconds the fact was created at, counted towards the time to live
+	 * @return boolean false when the fact itself was dropped
+	 */
+	public synchronized boolean offer(long fact, long createdAt)
+	{
+		final int priority = MilestoneFact.getPriority(fact).ordinal();
+
+		if (size >= capacity)
+		{
+			purgeExpired(clock.getAsLong());
+		}
+
+		if (size >= capacity)
+		{
+			// Nothing queued is less important than the new notification, so it is the one that has to go
+			if (evictionPolicy == EvictionPolicy.DROP_LOWEST_PRIORITY && lowestPriority() > priority)
+			{
+				dropped.incrementAndGet();
+				return false;
+			}
+
+			evict();
+		}
+
+		lanes[priority].offer(fact, createdAt);
+		size++;
+		highWaterMark = Math.max(highWaterMark, size);
+		return true;
+	}
+
+	/**
+	 * Adds a fact created right now.
+	 *
+	 * @param fact long MilestoneFact
+	 * @return boolean false when the fact itself was dropped
+	 */
+	public boolean offer(long fact)
+	{
+		return offer(fact, clock.getAsLong());
+	}
+
+	/**
+	 * Removes the highest priority fact that has not expired yet.
+	 *
+	 * @param entry long[] of at least 2 length, filled with the fact and the time it was created at, indexed by FACT
+	 *              and CREATED_AT
+	 * @return boolean false when empty
+	 */
+	public synchronized boolean poll(long[] entry)
+	{
+		final long now = clock.getAsLong();
+
+		for (int priority = lanes.length - 1; priority >= 0; priority--)
+		{
+			final Lane lane = lanes[priority];
+
+			while (!lane.isEmpty())
+			{
+				final long createdAt = lane.peekCreatedAt();
+				final long fact = lane.poll();
+				size--;
+
+				if (!isExpired(createdAt, now))
+				{
+					entry[FACT] = fact;
+					entry[CREATED_AT] = createdAt;
+					return true;
+				}
+
+				expired.incrementAndGet();
+			}
+		}
+
+		return false;
+	}
+
+	public synchronized boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	public synchronized int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Gets the largest amount of notifications that were queued at once.
+	 *
+	 * @return int
+	 */
+	public synchronized int getHighWaterMark()
+	{
+		return highWaterMark;
+	}
+
+	public synchronized void resetHighWaterMark()
+	{
+		highWaterMark = size;
+	}
+
+	public synchronized void clear()
+	{
+		for (Lane lane : lanes)
+		{
+			lane.clear();
+		}
+
+		size = 0;
+	}
+
+	/**
+	 * Gets the amount of notifications dropped because the queue was full.
+	 *
+	 * @return long
+	 */
+	public long getDroppedCount()
+	{
+		return dropped.get();
+	}
+
+	/**
+	 * Gets the amount of notifications dropped because they waited longer than the time to live.
+	 *
+	 * @return long
+	 */
+	public long getExpiredCount()
+	{
+		return expired.get();
+	}
+
+	private boolean isExpired(long createdAt, long now)
+	{
+		return timeToLive > 0 && now - createdAt > timeToLive;
+	}
+
+	private void purgeExpired(long now)
+	{
+		for (Lane lane : lanes)
+		{
+			// Lanes are in insertion order, so only the head can be expired before the rest of the lane is
+			while (!lane.isEmpty() && isExpired(lane.peekCreatedAt(), now))
+			{
+				lane.poll();
+				size--;
+				expired.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Drops a single queued notification according to the eviction policy.
+	 */
+	private void evict()
+	{
+		Lane victim = null;
+
+		if (evictionPolicy == EvictionPolicy.DROP_OLDEST)
+		{
+			for (Lane lane : lanes)
+			{
+				if (!lane.isEmpty() && (victim == null || lane.peekCreatedAt() < victim.peekCreatedAt()))
+				{
+					victim = lane;
+				}
+			}
+		}
+		else
+		{
+			victim = lanes[lowestPriority()];
+		}
+
+		if (victim != null && !victim.isEmpty())
+		{
+			victim.poll();
+			size--;
+			dropped.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Gets the lowest priority with queued notifications.
+	 *
+	 * @return int priority ordinal, or the highest priority when empty
+	 */
+	private int lowestPriority()
+	{
+		for (int priority = 0; priority < lanes.length; priority++)
+		{
+			if (!lanes[priority].isEmpty())
+			{
+				return priority;
+			}
+		}
+
+		return lanes.length - 1;
+	}
+
+	/**
+	 * FIFO ring of facts and the times they were created at, only grown when it runs out of room.
+	 */
+	private static final class Lane
+	{
+		private long[] facts = new long[16];
+
+		private long[] createdAt = new long[16];
+
+		private int head;
+
+		private int size;
+
+		boolean isEmpty()
+		{
+			return size == 0;
+		}
+
+		void offer(long fact, long time)
+		{
+			if (size == facts.length)
+			{
+				grow();
+			}
+
+			final int index = (head + size) & (facts.length - 1);
+			facts[index] = fact;
+			createdAt[index] = time;
+			size++;
+		}
+
+		long peekCreatedAt()
+		{
+			return createdAt[head];
+		}
+
+		long poll()
+		{
+			final long fact = facts[head];
+			head = (head + 1) & (facts.length - 1);
+			size--;
+			return fact;
+		}
+
+		void clear()
+		{
+			head = 0;
+			size = 0;
+		}
+
+		private void grow()
+		{
+			// Lengths stay a power of two so indexes wrap with a mask
+			final long[] grownFacts = new long[facts.length * 2];
+			final long[] grownCreatedAt = new long[facts.length * 2];
+
+			for (int i = 0; i < size; i++)
+			{
+				final int index = (head + i) & (facts.length - 1);
+				grownFacts[i] = facts[index];
+				grownCreatedAt[i] = createdAt[index];
+			}
+
+			facts = grownFacts;
+			createdAt = grownCreatedAt;
+			head = 0;
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package com.antimated.notifications;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded ring of preallocated slots handing {@link MilestoneFact}s from producers to one consumer.
+ * <p>
+ * Every slot carries a sequence number that tells whether it is free for the producer at a position or published to
+ * the consumer, so producers never take a lock. In single producer mode the tail is advanced with a plain write, in
+ * multi producer mode producers claim positions with a compare-and-set. The consumer side is synchronized only so the
+ * ring can be cleared from another thread, that lock is uncontended on the tick that drains it.
+ * <p>
+ * The ring rejects the newest fact when it is full; deciding which queued notification matters most is left to the
+ * {@link NotificationQueue} it is drained into. Offering and draining allocate nothing.
+ */
+public final class NotificationRing
+{
+	private static final Sink DISCARD = (fact, createdAt) -> {};
+
+	private final long[] facts;
+
+	private final long[] createdAt;
+
+	// Slot i is free for the producer at position p when its sequence is p, and published to the consumer when p + 1
+	private final AtomicLongArray sequences;
+
+	private final int mask;
+
+	private final boolean multiProducer;
+
+	private final LongSupplier clock;
+
+	// Next position to offer
+	private final AtomicLong tail = new AtomicLong();
+
+	private final AtomicLong rejected = new AtomicLong();
+
+	// Next position to drain, only touched while holding the consumer lock
+	private long head;
+
+	/**
+	 * @param capacity      int rounded up to a power of two
+	 * @param multiProducer boolean whether more than one thread may offer
+	 */
+	public NotificationRing(int capacity, boolean multiProducer)
+	{
+		this(capacity, multiProducer, System::currentTimeMillis);
+	}
+
+	NotificationRing(int capacity, boolean multiProducer, LongSupplier clock)
+	{
+		final int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+		this.facts = new long[size];
+		this.createdAt = new long[size];
+		this.sequences = new AtomicLongArray(size);
+		this.mask = size - 1;
+		this.multiProducer = multiProducer;
+		this.clock = clock;
+
+		for (int i = 0; i < size; i++)
+		{
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * Stores a fact in the next free slot, stamped with the current time.
+	 *
+	 * @param fact long MilestoneFact
+	 * @return boolean false when the ring is full and the fact was rejected
+	 */
+	public boolean offer(long fact)
+	{
+		long position;
+		int index;
+
+		if (multiProducer)
+		{
+			while (true)
+			{
+				position = tail.get();
+				index = (int) (position & mask);
+				final long difference = sequences.get(index) - position;
+
+				if (difference < 0)
+				{
+					// The consumer hasn't freed the slot from the previous lap yet
+					rejected.incrementAndGet();
+					return false;
+				}
+
+				if (difference == 0 && tail.compareAndSet(position, position + 1))
+				{
+					break;
+				}
+
+				// Another producer claimed the position first, try the next one
+			}
+		}
+		else
+		{
+			position = tail.get();
+			index = (int) (position & mask);
+
+			if (sequences.get(index) != position)
+			{
+				rejected.incrementAndGet();
+				return false;
+			}
+
+			tail.lazySet(position + 1);
+		}
+
+		facts[index] = fact;
+		createdAt[index] = clock.getAsLong();
+
+		// Publishes the slot to the consumer
+		sequences.lazySet(index, position + 1);
+		return true;
+	}
+
+	/**
+	 * Hands published facts to the sink in the order they were offered.
+	 *
+	 * @param sink  Sink
+	 * @param limit int maximum amount of facts to drain
+	 * @return int amount of facts drained
+	 */
+	public synchronized int drainTo(Sink sink, int limit)
+	{
+		int drained = 0;
+
+		while (drained < limit)
+		{
+			final int index = (int) (head & mask);
+
+			if (sequences.get(index) != head + 1)
+			{
+				break;
+			}
+
+			sink.accept(facts[index], createdAt[index]);
+
+			// Hands the slot back to the producers for the next lap
+			sequences.lazySet(index, head + mask + 1);
+			head++;
+			drained++;
+		}
+
+		return drained;
+	}
+
+	/**
+	 * Drains every published fact.
+	 *
+	 * @param sink Sink
+	 * @return int amount of facts drained
+	 */
+	public int drainTo(Sink sink)
+	{
+		return drainTo(sink, Integer.MAX_VALUE);
+	}
+
+	public synchronized boolean isEmpty()
+	{
+		return sequences.get((int) (head & mask)) != head + 1;
+	}
+
+	/**
+	 * Checks whether every claimed slot was drained. Unlike {@link #isEmpty()} this also sees offers that claimed a
+	 * slot but are still writing it, and in multi producer mode the claim is a full fence, so a producer that checks a
+	 * volatile flag after offering and a consumer that checks this after clearing that flag can't both miss each other.
+	 *
+	 * @return boolean
+	 */
+	public synchronized boolean isDrained()
+	{
+		return tail.get() == head;
+	}
+
+	public void clear()
+	{
+		drainTo(DISCARD);
+	}
+
+	/**
+	 * Gets the amount of facts rejected because the ring was full.
+	 *
+	 * @return long
+	 */
+	public long getRejectedCount()
+	{
+		return rejected.get();
+	}
+
+	public int capacity()
+	{
+		return mask + 1;
+	}
+
+	/**
+	 * Receives drained facts.
+	 */
+	@FunctionalInterface
+	public interface Sink
+	{
+		/**
+		 * @param fact      long MilestoneFact
+		 * @param createdAt long time in milliseconds the fact was offered at
+		 */
+		void accept(long fact, long createdAt);
+	}
+}
@@ -0,0 +1,48 @@
+package com.antimated.notifications;
+
+import com.antimated.milestones.MilestoneSettings;
+
+/**
+ * An output milestones are announced on, like the in-game notification widget or the chatbox.
+ * <p>
+ * Every queued {@link MilestoneFact} is handed to each enabled sink on the client thread. Sinks that may be slow say so
+ * through {@link #isAsynchronous()}, they are then fed through a bounded queue of their own and called on a worker
+ * thread, so they can never hold up the client thread or the other sinks.
+ */
+public interface NotificationSink
+{
+	/**
+	 * Gets the name of the sink, used in logs.
+	 *
+	 * @return String
+	 */
+	String getName();
+
+	/**
+	 * Check if the sink should receive milestones with the given outputs.
+	 *
+	 * @param outputs OutputSettings
+	 * @return boolean
+	 */
+	boolean isEnabled(OutputSettings outputs);
+
+	/**
+	 * Announces a milestone.
+	 *
+	 * @param fact      long MilestoneFact
+	 * @param createdAt long time in milliseconds the milestone was queued at
+	 * @param settings  MilestoneSettings the milestone is rendered with
+	 * @param outputs   OutputSettings
+	 */
+	void send(long fact, long createdAt, MilestoneSettings settings, OutputSettings outputs);
+
+	/**
+	 * Check if the sink has to be called off the client thread, because it may block or take a while.
+	 *
+	 * @return boolean
+	 */
+	default boolean isAsynchronous()
+	{
+		return true;
+	}
+}
@@ -0,0 +1,193 @@
+package com.antimated.notifications;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+import net.runelite.client.util.Text;
+
+/**
+ * A notification title or text, parsed once into literal and placeholder tokens.
+ * <p>
+ * Literal parts are escaped when the template is compiled, so rendering only appends the pre-escaped literals and the
+ * placeholder values to a caller supplied buffer.
+ */
+public final class NotificationTemplate
+{
+	public static final NotificationTemplate EMPTY = new NotificationTemplate(new String[]{""}, new Placeholder[0]);
+
+	private enum Placeholder
+	{
+		// Longer tokens sharing a prefix have to come first so they win the match
+		SKILL("$skill"),
+		LEVEL("$level"),
+		XP_TO_NEXT("$xpToNext"),
+		XP("$xp"),
+		TOTAL_LEVEL("$totalLevel"),
+		NEXT_LEVEL("$nextLevel");
+
+		private final String token;
+
+		Placeholder(String token)
+		{
+			this.token = token;
+		}
+	}
+
+	private static final Placeholder[] PLACEHOLDERS = Placeholder.values();
+
+	// literals[i] is appended before placeholders[i], the last literal is appended after the last placeholder.
+	private final String[] literals;
+
+	private final Placeholder[] placeholders;
+
+	private NotificationTemplate(String[] literals, Placeholder[] placeholders)
+	{
+		this.literals = literals;
+		this.placeholders = placeholders;
+	}
+
+	/**
+	 * Parses a template containing $skill, $level, $xp, $totalLevel, $nextLevel and $xpToNext variables.
+	 *
+	 * @param template String
+	 * @return NotificationTemplate
+	 */
+	public static NotificationTemplate compile(String template)
+	{
+		if (template == null || template.isEmpty())
+		{
+			return EMPTY;
+		}
+
+		final List<String> literals = new ArrayList<>();
+		final List<Placeholder> placeholders = new ArrayList<>();
+		final StringBuilder literal = new StringBuilder();
+
+		int i = 0;
+
+		while (i < template.length())
+		{
+			final Placeholder placeholder = template.charAt(i) == '$' ? matchPlaceholder(template, i) : null;
+
+			if (placeholder == null)
+			{
+				literal.append(template.charAt(i++));
+				continue;
+			}
+
+			literals.add(Text.escapeJagex(literal.toString()));
+			placeholders.add(placeholder);
+			literal.setLength(0);
+			i += placeholder.token.length();
+		}
+
+		literals.add(Text.escapeJagex(literal.toString()));
+
+		return new NotificationTemplate(literals.toArray(new String[0]), placeholders.toArray(new Placeholder[0]));
+	}
+
+	private static Placeholder matchPlaceholder(String template, int offset)
+	{
+		for (Placeholder placeholder : PLACEHOLDERS)
+		{
+			if (template.startsWith(placeholder.token, offset))
+			{
+				return placeholder;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Renders the template for a milestone.
+	 *
+	 * @param buffer     StringBuilder reused between renders, cleared before use
+	 * @param skill      Skill
+	 * @param level      int level of the milestone
+	 * @param xp         int xp of the milestone
+	 * @param totalLevel int
+	 * @return String
+	 */
+	public String render(StringBuilder buffer, Skill skill, int level, int xp, int totalLevel)
+	{
+		buffer.setLength(0);
+		buffer.append(literals[0]);
+
+		for (int i = 0; i < placeholders.length; i++)
+		{
+			switch (placeholders[i])
+			{
+				case SKILL:
+					buffer.append(skill.getName());
+					break;
+				case LEVEL:
+					buffer.append(level);
+					break;
+				case XP:
+					appendFormatted(buffer, xp);
+					break;
+				case TOTAL_LEVEL:
+					buffer.append(totalLevel);
+					break;
+				case NEXT_LEVEL:
+					buffer.append(Math.min(level + 1, Experience.MAX_VIRT_LEVEL));
+					break;
+				case XP_TO_NEXT:
+					appendFormatted(buffer, level < Experience.MAX_VIRT_LEVEL ? Math.max(Experience.getXpForLevel(level + 1) - xp, 0) : 0);
+					break;
+			}
+
+			buffer.append(literals[i + 1]);
+		}
+
+		return buffer.toString();
+	}
+
+	/**
+	 * Appends a number with thousands separators, the same output as QuantityFormatter.formatNumber without the
+	 * intermediate strings.
+	 *
+	 * @param buffer StringBuilder
+	 * @param value  int
+	 */
+	private static void appendFormatted(StringBuilder buffer, int value)
+	{
+		if (value < 0)
+		{
+			buffer.append('-');
+			value = -value;
+		}
+
+		int divisor = 1;
+
+		while (value / divisor >= 1000)
+		{
+			divisor *= 1000;
+		}
+
+		buffer.append(value / divisor);
+
+		while (divisor > 1)
+		{
+			value %= divisor;
+			divisor /= 1000;
+
+			final int group = value / divisor;
+			buffer.append(',');
+
+			if (group < 100)
+			{
+				buffer.append('0');
+			}
+
+			if (group < 10)
+			{
+				buffer.append('0');
+			}
+
+			buffer.append(group);
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package com.antimated.notifications;
+
+import net.runelite.client.Notifier;
+
+/**
+ * Announces milestones through RuneLite's notifier, which follows the notification settings of RuneLite itself, e.g.
+ * a tray notification or flashing the window.
+ */
+final class NotifierSink extends RenderingSink
+{
+	private final Notifier notifier;
+
+	NotifierSink(Notifier notifier)
+	{
+		this.notifier = notifier;
+	}
+
+	@Override
+	public String getName()
+	{
+		return "notifier";
+	}
+
+	@Override
+	public boolean isEnabled(OutputSettings outputs)
+	{
+		return outputs.isSendDesktopNotification();
+	}
+
+	@Override
+	protected void send(Notification notification, OutputSettings outputs)
+	{
+		notifier.notify(toPlainText(notification.getTitle()) + ": " + toPlainText(notification.getText()));
+	}
+}
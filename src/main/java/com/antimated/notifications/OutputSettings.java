@@ -0,0 +1,74 @@
+package com.antimated.notifications;
+
+import com.antimated.MilestoneLevelsConfig;
+import com.antimated.ScreenshotMode;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Value;
+import okhttp3.HttpUrl;
+
+/**
+ * Immutable snapshot of where milestones are announced, read by the {@link NotificationManager} and its sinks.
+ * <p>
+ * Kept apart from the {@link com.antimated.milestones.MilestoneSettings} the milestone engine works with, so the
+ * engine doesn't depend on the outputs or the HTTP client. Everything is disabled unless set.
+ */
+@Value
+@Builder(toBuilder = true)
+public class OutputSettings
+{
+	public static final OutputSettings DISABLED = builder().build();
+
+	/**
+	 * Whether milestones are shown in the in-game notification widget.
+	 */
+	boolean showWidget;
+
+	boolean sendChatMessage;
+
+	boolean sendDesktopNotification;
+
+	boolean playSound;
+
+	@Builder.Default
+	ScreenshotMode screenshotMode = ScreenshotMode.OFF;
+
+	/**
+	 * The webhook milestones are posted to, or null when no valid url is configured.
+	 */
+	HttpUrl webhookUrl;
+
+	// Seconds
+	@Getter(AccessLevel.NONE)
+	int webhookBatchWindow;
+
+	/**
+	 * Reads the current output config into a new snapshot.
+	 *
+	 * @param config MilestoneLevelsConfig
+	 * @return OutputSettings
+	 */
+	public static OutputSettings fromConfig(MilestoneLevelsConfig config)
+	{
+		return builder()
+			.showWidget(config.showNotificationWidget())
+			.sendChatMessage(config.sendChatMessage())
+			.sendDesktopNotification(config.sendDesktopNotification())
+			.playSound(config.playSound())
+			.screenshotMode(config.screenshotMode())
+			.webhookUrl(HttpUrl.parse(config.webhookUrl().trim()))
+			.webhookBatchWindow(config.webhookBatchWindow())
+			.build();
+	}
+
+	/**
+	 * Gets how long milestones are collected before they are posted to the webhook together.
+	 *
+	 * @return long milliseconds
+	 */
+	public long getWebhookBatchWindow()
+	{
+		return webhookBatchWindow * 1000L;
+	}
+}
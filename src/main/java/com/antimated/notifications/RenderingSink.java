@@ -0,0 +1,42 @@
+package com.antimated.notifications;
+
+import com.antimated.milestones.MilestoneSettings;
+import net.runelite.client.util.Text;
+
+/**
+ * Asynchronous sink that announces rendered notifications instead of facts.
+ * <p>
+ * An asynchronous sink is only ever called by one worker at a time, so the renderer and notification are reused.
+ */
+public abstract class RenderingSink implements NotificationSink
+{
+	private final MilestoneRenderer renderer = new MilestoneRenderer();
+
+	private final Notification notification = new Notification();
+
+	@Override
+	public final void send(long fact, long createdAt, MilestoneSettings settings, OutputSettings outputs)
+	{
+		renderer.render(fact, settings, notification);
+		send(notification, outputs);
+	}
+
+	/**
+	 * Announces a rendered notification, whose title and text are escaped and may contain tags.
+	 *
+	 * @param notification Notification only valid during this call
+	 * @param outputs      OutputSettings
+	 */
+	protected abstract void send(Notification notification, OutputSettings outputs);
+
+	/**
+	 * Turns an escaped title or text into plain text, e.g. "Attack 50 -&lt;gt&gt; 60" into "Attack 50 -&gt; 60".
+	 *
+	 * @param text String
+	 * @return String
+	 */
+	protected static String toPlainText(String text)
+	{
+		return Text.unescapeJagex(Text.removeTags(text));
+	}
+}
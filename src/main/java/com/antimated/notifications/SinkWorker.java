@@ -0,0 +1,169 @@
+package com.antimated.notifications;
+
+import com.antimated.milestones.MilestoneSettings;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feeds an asynchronous {@link NotificationSink} through a bounded queue of its own, drained on a shared executor.
+ * <p>
+ * Milestones are only offered on the client thread, so the queue is a single producer ring. At most one drain of a
+ * worker is scheduled or running at a time, which keeps its milestones in order and its sink single threaded. When a
+ * sink can't keep up its queue fills and new milestones are dropped for that sink only, the client thread never
+ * waits for it.
+ */
+@Slf4j
+final class SinkWorker implements NotificationSink
+{
+	private static final int BATCH_SIZE = 16;
+
+	private final NotificationSink sink;
+
+	private final NotificationRing queue;
+
+	private final Executor executor;
+
+	private final Supplier<MilestoneSettings> settings;
+
+	private final Supplier<OutputSettings> outputs;
+
+	// Whether a drain is scheduled or running on the executor
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	// Only used by the running drain, milestones are delivered outside the queue's lock so clearing never waits on a sink
+	private final long[] batchFacts = new long[BATCH_SIZE];
+
+	private final long[] batchCreatedAt = new long[BATCH_SIZE];
+
+	private final NotificationRing.Sink collect = this::collect;
+
+	private int batchSize;
+
+	/**
+	 * @param sink     NotificationSink
+	 * @param capacity int maximum amount of milestones waiting for the sink
+	 * @param executor Executor the sink is called on
+	 * @param settings Supplier of the settings milestones are rendered with once they are delivered
+	 * @param outputs  Supplier of the outputs current once milestones are delivered
+	 */
+	SinkWorker(NotificationSink sink, int capacity, Executor executor, Supplier<MilestoneSettings> settings, Supplier<OutputSettings> outputs)
+	{
+		this.sink = sink;
+		this.queue = new NotificationRing(capacity, false);
+		this.executor = executor;
+		this.settings = settings;
+		this.outputs = outputs;
+	}
+
+	@Override
+	public String getName()
+	{
+		return sink.getName();
+	}
+
+	@Override
+	public boolean isEnabled(OutputSettings outputs)
+	{
+		return sink.isEnabled(outputs);
+	}
+
+	/**
+	 * Queues a milestone for the sink, only to be called on the client thread.
+	 *
+	 * @param fact      long MilestoneFact
+	 * @param createdAt long ignored, the queue stamps milestones itself
+	 * @param settings  MilestoneSettings ignored, the settings current at delivery are used
+	 * @param outputs   OutputSettings ignored, the outputs current at delivery are used
+	 */
+	@Override
+	public void send(long fact, long createdAt, MilestoneSettings settings, OutputSettings outputs)
+	{
+		if (!queue.offer(fact))
+		{
+			log.debug("Sink {} is falling behind, dropped {} notification of kind {}", sink.getName(), MilestoneFact.getPriority(fact), MilestoneFact.getKind(fact));
+			return;
+		}
+
+		if (scheduled.compareAndSet(false, true))
+		{
+			try
+			{
+				executor.execute(this::drain);
+			}
+			catch (RejectedExecutionException e)
+			{
+				// Shutting down, the queued milestones go with it
+				scheduled.set(false);
+				queue.clear();
+			}
+		}
+	}
+
+	/**
+	 * The worker itself only queues, so it is called directly on the client thread.
+	 *
+	 * @return boolean
+	 */
+	@Override
+	public boolean isAsynchronous()
+	{
+		return false;
+	}
+
+	/**
+	 * Gets the amount of milestones dropped because the sink fell behind.
+	 *
+	 * @return long
+	 */
+	long getDroppedCount()
+	{
+		return queue.getRejectedCount();
+	}
+
+	void clear()
+	{
+		queue.clear();
+	}
+
+	private void drain()
+	{
+		do
+		{
+			while (queue.drainTo(collect, BATCH_SIZE) > 0)
+			{
+				for (int i = 0; i < batchSize; i++)
+				{
+					deliver(batchFacts[i], batchCreatedAt[i]);
+				}
+
+				batchSize = 0;
+			}
+
+			scheduled.set(false);
+		}
+		// A milestone offered after the last drain, but before scheduled was reset, would be left behind otherwise
+		while (!queue.isDrained() && scheduled.compareAndSet(false, true));
+	}
+
+	private void collect(long fact, long createdAt)
+	{
+		batchFacts[batchSize] = fact;
+		batchCreatedAt[batchSize] = createdAt;
+		batchSize++;
+	}
+
+	private void deliver(long fact, long createdAt)
+	{
+		try
+		{
+			sink.send(fact, createdAt, settings.get(), outputs.get());
+		}
+		catch (RuntimeException e)
+		{
+			log.warn("Notification sink {} failed", sink.getName(), e);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.antimated.notifications;
+
+import com.antimated.milestones.MilestoneSettings;
+import net.runelite.api.Client;
+import net.runelite.api.SoundEffectID;
+
+/**
+ * Plays a sound effect on milestones, a more festive one the higher their priority.
+ */
+final class SoundSink implements NotificationSink
+{
+	private final Client client;
+
+	SoundSink(Client client)
+	{
+		this.client = client;
+	}
+
+	@Override
+	public String getName()
+	{
+		return "sound";
+	}
+
+	@Override
+	public boolean isEnabled(OutputSettings outputs)
+	{
+		return outputs.isPlaySound();
+	}
+
+	@Override
+	public void send(long fact, long createdAt, MilestoneSettings settings, OutputSettings outputs)
+	{
+		switch (MilestoneFact.getPriority(fact))
+		{
+			case HIGH:
+				client.playSoundEffect(SoundEffectID.GE_ADD_OFFER_DINGALING);
+				break;
+
+			case NORMAL:
+				client.playSoundEffect(SoundEffectID.GE_COIN_TINKLE);
+				break;
+
+			default:
+				client.playSoundEffect(SoundEffectID.UI_BOOP);
+				break;
+		}
+	}
+
+	/**
+	 * Sounds can only be played on the client thread, and playing one is cheap.
+	 *
+	 * @return boolean
+	 */
+	@Override
+	public boolean isAsynchronous()
+	{
+		return false;
+	}
+}
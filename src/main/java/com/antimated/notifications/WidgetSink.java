@@ -0,0 +1,45 @@
+package com.antimated.notifications;
+
+import com.antimated.milestones.MilestoneSettings;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Queues milestones for the in-game notification widget, which {@link NotificationManager} displays one at a time.
+ */
+@Slf4j
+final class WidgetSink implements NotificationSink
+{
+	private final NotificationQueue notifications;
+
+	WidgetSink(NotificationQueue notifications)
+	{
+		this.notifications = notifications;
+	}
+
+	@Override
+	public String getName()
+	{
+		return "widget";
+	}
+
+	@Override
+	public boolean isEnabled(OutputSettings outputs)
+	{
+		return outputs.isShowWidget();
+	}
+
+	@Override
+	public void send(long fact, long createdAt, MilestoneSettings settings, OutputSettings outputs)
+	{
+		if (!notifications.offer(fact, createdAt))
+		{
+			log.debug("Notification queue full, dropped {} notification of kind {}", MilestoneFact.getPriority(fact), MilestoneFact.getKind(fact));
+		}
+	}
+
+	@Override
+	public boolean isAsynchronous()
+	{
+		return false;
+	}
+}
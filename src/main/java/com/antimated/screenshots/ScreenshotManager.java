@@ -0,0 +1,250 @@
+package com.antimated.screenshots;
+
+import com.antimated.ScreenshotMode;
+import com.antimated.milestones.MilestoneSettings;
+import com.antimated.notifications.MilestoneFact;
+import com.antimated.notifications.NotificationPriority;
+import com.antimated.notifications.NotificationSink;
+import com.antimated.notifications.OutputSettings;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.Experience;
+import net.runelite.api.Player;
+import net.runelite.api.Skill;
+import net.runelite.client.RuneLite;
+import net.runelite.client.ui.DrawManager;
+
+/**
+ * Saves a screenshot of the game when a milestone is reached.
+ * <p>
+ * Milestones are handed over on the client thread, where the next drawn frame is copied as raw pixels. Encoding the
+ * copy to PNG and writing it happens on the {@link ScreenshotWriter}. Every milestone queued before the next frame is
+ * drawn shares that frame, named after the most important of them.
+ */
+@Slf4j
+@Singleton
+public class ScreenshotManager implements NotificationSink
+{
+	private static final String DIRECTORY = "Milestones";
+
+	// Frames that may wait to be written, a frame of a large client takes megabytes
+	private static final int PENDING_FRAMES = 4;
+
+	private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+	private static final Skill[] SKILLS = Skill.values();
+
+	// A frame that wasn't drawn in time, e.g. while minimised or logging out, is requested again by the next milestone
+	private static final long FRAME_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+	@Inject
+	private Client client;
+
+	@Inject
+	private DrawManager drawManager;
+
+	private final Consumer<Image> capture = this::capture;
+
+	private ScreenshotWriter writer;
+
+	// Only used on the client thread, the milestone the next frame is named after while a frame is requested
+	private boolean frameRequested;
+
+	private long pendingFact;
+
+	private long frameRequestedAt;
+
+	public void startUp()
+	{
+		log.debug("ScreenshotManager startUp()");
+		writer = new ScreenshotWriter(PENDING_FRAMES);
+	}
+
+	public void shutDown()
+	{
+		log.debug("ScreenshotManager shutDown()");
+		writer.shutDown();
+		cancelFrame();
+	}
+
+	@Override
+	public String getName()
+	{
+		return "screenshot";
+	}
+
+	@Override
+	public boolean isEnabled(OutputSettings outputs)
+	{
+		return outputs.getScreenshotMode() != ScreenshotMode.OFF;
+	}
+
+	@Override
+	public void send(long fact, long createdAt, MilestoneSettings settings, OutputSettings outputs)
+	{
+		final NotificationPriority priority = MilestoneFact.getPriority(fact);
+
+		if (!outputs.getScreenshotMode().captures(priority))
+		{
+			return;
+		}
+
+		if (frameRequested && System.nanoTime() - frameRequestedAt < FRAME_TIMEOUT_NANOS)
+		{
+			if (priority.compareTo(MilestoneFact.getPriority(pendingFact)) > 0)
+			{
+				pendingFact = fact;
+			}
+
+			return;
+		}
+
+		frameRequested = true;
+		frameRequestedAt = System.nanoTime();
+		pendingFact = fact;
+		drawManager.requestNextFrameListener(capture);
+	}
+
+	/**
+	 * Frames are requested and copied on the client thread.
+	 *
+	 * @return boolean
+	 */
+	@Override
+	public boolean isAsynchronous()
+	{
+		return false;
+	}
+
+	/**
+	 * Forgets the requested frame, it may never be drawn after the game state changed. Only to be called on the client
+	 * thread.
+	 */
+	public void cancelFrame()
+	{
+		frameRequested = false;
+	}
+
+	/**
+	 * Gets the amount of screenshots dropped because too many were waiting to be written.
+	 *
+	 * @return long
+	 */
+	public long getDroppedCount()
+	{
+		return writer == null ? 0 : writer.getDroppedCount();
+	}
+
+	/**
+	 * Copies a drawn frame, on the client thread.
+	 *
+	 * @param frame Image
+	 */
+	private void capture(Image frame)
+	{
+		if (!frameRequested)
+		{
+			// Cancelled or shut down in the meantime
+			return;
+		}
+
+		frameRequested = false;
+
+		final BufferedImage image = toBufferedImage(frame);
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		final int[] pixels = copyPixels(image);
+		final File directory = new File(new File(RuneLite.SCREENSHOT_DIR, getAccountName()), DIRECTORY);
+
+		writer.write(pixels, width, height, new File(directory, fileName(pendingFact, LocalDateTime.now())));
+	}
+
+	private String getAccountName()
+	{
+		final Player player = client.getLocalPlayer();
+
+		if (player != null && player.getName() != null)
+		{
+			return player.getName();
+		}
+
+		return Long.toString(client.getAccountHash());
+	}
+
+	/**
+	 * Names a screenshot after its milestone, e.g. "Attack 99 2024-01-01_12-00-00.png".
+	 *
+	 * @param fact       long MilestoneFact
+	 * @param capturedAt LocalDateTime
+	 * @return String
+	 */
+	static String fileName(long fact, LocalDateTime capturedAt)
+	{
+		final StringBuilder name = new StringBuilder();
+		final String skill = SKILLS[MilestoneFact.getSkill(fact)].getName();
+
+		switch (MilestoneFact.getKind(fact))
+		{
+			case MilestoneFact.LEVEL:
+				name.append(skill).append(' ').append(MilestoneFact.getValue(fact));
+				break;
+
+			case MilestoneFact.EXPERIENCE:
+				name.append(skill).append(' ').append(MilestoneFact.getValue(fact)).append(" xp");
+				break;
+
+			case MilestoneFact.SUMMARY:
+				name.append(skill).append(' ').append(Experience.getLevelForXp(MilestoneFact.getValue(fact)));
+				break;
+
+			default:
+				name.append("While away");
+				break;
+		}
+
+		return name.append(' ').append(TIMESTAMP.format(capturedAt)).append(".png").toString();
+	}
+
+	/**
+	 * Copies the pixels of a frame as packed RGB, straight from the raster when it already is in that format.
+	 *
+	 * @param image BufferedImage
+	 * @return int[]
+	 */
+	static int[] copyPixels(BufferedImage image)
+	{
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+
+		if (image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_INT_ARGB)
+		{
+			return (int[]) image.getRaster().getDataElements(0, 0, width, height, new int[width * height]);
+		}
+
+		return image.getRGB(0, 0, width, height, new int[width * height], 0, width);
+	}
+
+	private static BufferedImage toBufferedImage(Image frame)
+	{
+		if (frame instanceof BufferedImage)
+		{
+			return (BufferedImage) frame;
+		}
+
+		final BufferedImage image = new BufferedImage(frame.getWidth(null), frame.getHeight(null), BufferedImage.TYPE_INT_RGB);
+		final Graphics2D graphics = image.createGraphics();
+		graphics.drawImage(frame, 0, 0, null);
+		graphics.dispose();
+		return image;
+	}
+}
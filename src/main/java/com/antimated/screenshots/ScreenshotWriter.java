@@ -0,0 +1,107 @@
+package com.antimated.screenshots;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.ImageIO;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Encodes captured frames to PNG files on a background thread.
+ * <p>
+ * A frame of a large client takes megabytes, so only a few may wait to be written. When a burst of captures fills the
+ * queue the oldest waiting one is dropped, a newer milestone is the more interesting screenshot anyway.
+ */
+@Slf4j
+final class ScreenshotWriter
+{
+	private final ThreadPoolExecutor executor;
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * @param capacity int maximum amount of frames waiting to be written
+	 */
+	ScreenshotWriter(int capacity)
+	{
+		executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(capacity), runnable -> {
+			Thread thread = new Thread(runnable, "Milestone Levels screenshot");
+			thread.setDaemon(true);
+			return thread;
+		}, (runnable, pool) -> {
+			if (pool.isShutdown())
+			{
+				return;
+			}
+
+			pool.getQueue().poll();
+			dropped.incrementAndGet();
+			pool.execute(runnable);
+		});
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Queues a frame to be written.
+	 *
+	 * @param pixels int[] packed RGB pixels, row by row, no longer touched by the caller
+	 * @param width  int
+	 * @param height int
+	 * @param file   File the PNG is written to, its directory is created when missing
+	 */
+	void write(int[] pixels, int width, int height, File file)
+	{
+		executor.execute(() -> encode(pixels, width, height, file));
+	}
+
+	/**
+	 * Gets the amount of frames dropped because too many were waiting to be written.
+	 *
+	 * @return long
+	 */
+	long getDroppedCount()
+	{
+		return dropped.get();
+	}
+
+	/**
+	 * Stops accepting frames, the ones already waiting are still written.
+	 */
+	void shutDown()
+	{
+		executor.shutdown();
+	}
+
+	boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+	{
+		return executor.awaitTermination(timeout, unit);
+	}
+
+	private static void encode(int[] pixels, int width, int height, File file)
+	{
+		final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		image.getRaster().setDataElements(0, 0, width, height, pixels);
+
+		final File directory = file.getParentFile();
+
+		if (directory != null && !directory.isDirectory() && !directory.mkdirs())
+		{
+			log.warn("Unable to create screenshot directory {}", directory);
+			return;
+		}
+
+		try
+		{
+			ImageIO.write(image, "png", file);
+			log.debug("Saved milestone screenshot {}", file);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to write screenshot {}", file, e);
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package com.antimated.state;
+
+import com.antimated.MilestoneLevelsConfig;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.config.ConfigManager;
+
+/**
+ * Brings the plugin's config up to the current schema version by running every migration it hasn't seen yet, in order.
+ * <p>
+ * The schema version is read from the {@link PluginStateStore}, so a config that is already up to date costs no config
+ * lookups at all. Configs migrated before schema versions existed only have the "migrated" key, which counts as
+ * version 1. Migrations write config keys through the {@link ConfigManager}, so the settings read right after see
+ * them, the store only keeps the plugin's own bookkeeping.
+ */
+@Slf4j
+@Singleton
+public class MigrationRunner
+{
+	/**
+	 * A single migration, it is only ever run once per config.
+	 */
+	@FunctionalInterface
+	interface Migration
+	{
+		void migrate(ConfigManager configManager, PluginStateStore store);
+	}
+
+	// Migration i brings the config from version i to version i + 1, append new migrations at the end
+	private static final List<Migration> MIGRATIONS = List.of(
+		MigrationRunner::renameNotificationKeys
+	);
+
+	public static final int CURRENT_VERSION = MIGRATIONS.size();
+
+	@Inject
+	private ConfigManager configManager;
+
+	@Inject
+	private PluginStateStore store;
+
+	/**
+	 * Runs the migrations the config hasn't seen yet.
+	 *
+	 * @return int amount of migrations that were run
+	 */
+	public int run()
+	{
+		final int version = schemaVersion(store.get(PluginStateStore.SCHEMA_VERSION_KEY), store.get(PluginStateStore.MIGRATED_KEY));
+
+		for (int i = version; i < CURRENT_VERSION; i++)
+		{
+			log.debug("Migrating config from schema version {} to {}", i, i + 1);
+			MIGRATIONS.get(i).migrate(configManager, store);
+			store.set(PluginStateStore.SCHEMA_VERSION_KEY, String.valueOf(i + 1));
+		}
+
+		return Math.max(CURRENT_VERSION - version, 0);
+	}
+
+	/**
+	 * Gets the schema version of the config.
+	 *
+	 * @param schemaVersion String value of the schema version key
+	 * @param migrated      String value of the legacy "migrated" key
+	 * @return int
+	 */
+	static int schemaVersion(String schemaVersion, String migrated)
+	{
+		if (schemaVersion != null)
+		{
+			try
+			{
+				return Integer.parseInt(schemaVersion);
+			}
+			catch (NumberFormatException e)
+			{
+				log.warn("Ignoring malformed schema version {}", schemaVersion);
+			}
+		}
+
+		return migrated != null ? 1 : 0;
+	}
+
+	/**
+	 * Version 1: the notification keys became the notification level keys when xp milestones were added.
+	 *
+	 * @param configManager ConfigManager
+	 * @param store         PluginStateStore
+	 */
+	private static void renameNotificationKeys(ConfigManager configManager, PluginStateStore store)
+	{
+		log.debug("Start config key migration...");
+
+		Map<String, String> configMapping = Map.of(
+			"notificationColor", "notificationLevelColor",
+			"notificationText", "notificationLevelText",
+			"notificationTitle", "notificationLevelTitle"
+		);
+
+		for (Map.Entry<String, String> entry : configMapping.entrySet())
+		{
+			String oldKey = entry.getKey();
+			String newKey = entry.getValue();
+			String oldValue = configManager.getConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, oldKey);
+
+			log.debug("Old key {} with value {}", oldKey, oldValue);
+
+			if (oldValue != null)
+			{
+				configManager.setConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, newKey, oldValue);
+				configManager.unsetConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, oldKey);
+			}
+		}
+
+		log.debug("End migration of notification keys to notification level keys");
+
+		// Older versions of the plugin only know about this key
+		store.set(PluginStateStore.MIGRATED_KEY, "1");
+	}
+}
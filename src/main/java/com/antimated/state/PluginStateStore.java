@@ -0,0 +1,177 @@
+package com.antimated.state;
+
+import com.antimated.MilestoneLevelsConfig;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.config.ConfigManager;
+
+/**
+ * Keeps the plugin's bookkeeping keys in memory and writes changes back to the config behind the caller's back.
+ * <p>
+ * The bookkeeping keys are read from the config once by {@link #load()}, afterwards reads never touch the config
+ * manager. Writes update memory right away and are batched into a single flush on the executor shortly after, or when
+ * the plugin shuts down.
+ */
+@Slf4j
+@Singleton
+public class PluginStateStore
+{
+	public static final String MIGRATED_KEY = "migrated";
+
+	public static final String LAST_UPDATE_MESSAGE_KEY = "lastUpdateMessage";
+
+	public static final String SCHEMA_VERSION_KEY = "schemaVersion";
+
+	private static final List<String> KEYS = List.of(MIGRATED_KEY, LAST_UPDATE_MESSAGE_KEY, SCHEMA_VERSION_KEY);
+
+	private static final long WRITE_DELAY_MS = 1_000;
+
+	@Inject
+	private ConfigManager configManager;
+
+	@Inject
+	private ScheduledExecutorService executor;
+
+	private final Map<String, String> values = new ConcurrentHashMap<>();
+
+	// Keys waiting to be written in the order they were changed, a null value unsets the key. Guarded by this.
+	private final Map<String, String> pending = new LinkedHashMap<>();
+
+	private Future<?> scheduledFlush;
+
+	/**
+	 * Reads every bookkeeping key from the config, replacing what was kept in memory.
+	 */
+	public void load()
+	{
+		values.clear();
+
+		for (String key : KEYS)
+		{
+			String value = configManager.getConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, key);
+
+			if (value != null)
+			{
+				values.put(key, value);
+			}
+		}
+
+		log.debug("Loaded plugin state {}", values);
+	}
+
+	/**
+	 * Writes pending changes right away, to be called when the plugin shuts down.
+	 */
+	public void shutDown()
+	{
+		synchronized (this)
+		{
+			if (scheduledFlush != null)
+			{
+				scheduledFlush.cancel(false);
+			}
+		}
+
+		flush();
+	}
+
+	/**
+	 * Check if a key of the plugin's config group is one of the bookkeeping keys, rather than a setting.
+	 *
+	 * @param key String
+	 * @return boolean
+	 */
+	public static boolean isStateKey(String key)
+	{
+		return KEYS.contains(key);
+	}
+
+	/**
+	 * Gets a bookkeeping key from memory.
+	 *
+	 * @param key String
+	 * @return String or null when not set
+	 */
+	public String get(String key)
+	{
+		return values.get(key);
+	}
+
+	/**
+	 * Sets a key of the plugin's config group, it is written back to the config on the next flush.
+	 *
+	 * @param key   String
+	 * @param value String
+	 */
+	public void set(String key, String value)
+	{
+		values.put(key, value);
+		schedule(key, value);
+	}
+
+	/**
+	 * Unsets a key of the plugin's config group, it is removed from the config on the next flush.
+	 *
+	 * @param key String
+	 */
+	public void unset(String key)
+	{
+		values.remove(key);
+		schedule(key, null);
+	}
+
+	/**
+	 * Writes every pending change to the config.
+	 */
+	public void flush()
+	{
+		final Map<String, String> batch;
+
+		synchronized (this)
+		{
+			scheduledFlush = null;
+
+			if (pending.isEmpty())
+			{
+				return;
+			}
+
+			batch = new LinkedHashMap<>(pending);
+			pending.clear();
+		}
+
+		for (Map.Entry<String, String> entry : batch.entrySet())
+		{
+			if (entry.getValue() == null)
+			{
+				configManager.unsetConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, entry.getKey());
+			}
+			else
+			{
+				configManager.setConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, entry.getKey(), entry.getValue());
+			}
+		}
+
+		log.debug("Wrote {} plugin state keys", batch.size());
+	}
+
+	private synchronized void schedule(String key, String value)
+	{
+		// Only the last change of a key matters, but it is written in the position of its latest change
+		pending.remove(key);
+		pending.put(key, value);
+
+		if (scheduledFlush == null)
+		{
+			scheduledFlush = executor.schedule(this::flush, WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+		}
+	}
+}
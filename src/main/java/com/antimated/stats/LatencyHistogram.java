@@ -0,0 +1,110 @@
+package com.antimated.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram with power of two buckets.
+ * <p>
+ * Recording is a handful of atomic increments and never allocates, so it is cheap enough to stay enabled. Percentiles
+ * are reported as the upper bound of the bucket they fall in.
+ */
+public final class LatencyHistogram
+{
+	// Bucket i holds values with i significant bits, bucket 0 holds 0
+	private static final int BUCKETS = Long.SIZE + 1;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final AtomicLong total = new AtomicLong();
+
+	private final AtomicLong max = new AtomicLong();
+
+	public void record(long value)
+	{
+		if (value < 0)
+		{
+			value = 0;
+		}
+
+		buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(value));
+		count.incrementAndGet();
+		total.addAndGet(value);
+
+		long current;
+
+		while (value > (current = max.get()))
+		{
+			if (max.compareAndSet(current, value))
+			{
+				break;
+			}
+		}
+	}
+
+	public long getCount()
+	{
+		return count.get();
+	}
+
+	public long getMean()
+	{
+		final long count = this.count.get();
+		return count == 0 ? 0 : total.get() / count;
+	}
+
+	public long getMax()
+	{
+		return max.get();
+	}
+
+	/**
+	 * Gets the upper bound of the bucket containing the given percentile.
+	 *
+	 * @param percentile double between 0 and 100
+	 * @return long
+	 */
+	public long getPercentile(double percentile)
+	{
+		final long count = this.count.get();
+
+		if (count == 0)
+		{
+			return 0;
+		}
+
+		final long rank = (long) Math.ceil(count * percentile / 100.0);
+		long seen = 0;
+
+		for (int bucket = 0; bucket < BUCKETS; bucket++)
+		{
+			seen += buckets.get(bucket);
+
+			if (seen >= rank)
+			{
+				return Math.min(upperBound(bucket), max.get());
+			}
+		}
+
+		return max.get();
+	}
+
+	public void reset()
+	{
+		for (int bucket = 0; bucket < BUCKETS; bucket++)
+		{
+			buckets.set(bucket, 0);
+		}
+
+		count.set(0);
+		total.set(0);
+		max.set(0);
+	}
+
+	private static long upperBound(int bucket)
+	{
+		return bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+	}
+}
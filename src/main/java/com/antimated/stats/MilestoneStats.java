@@ -0,0 +1,174 @@
+package com.antimated.stats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.inject.Singleton;
+import net.runelite.api.Skill;
+
+/**
+ * Counters and latency histograms of the plugin's hot paths.
+ * <p>
+ * Everything is recorded with atomics only, no locks and no allocations, so the stats are always collected and can be
+ * inspected at any time with the ::mlstats developer command, or on an overlay toggled with ::mlstats overlay.
+ */
+@Singleton
+public class MilestoneStats
+{
+	private static final Skill[] SKILLS = Skill.values();
+
+	// Nanoseconds spent handling a single StatChanged
+	private final LatencyHistogram statChanged = new LatencyHistogram();
+
+	// Milliseconds a notification waited in the queue before it was displayed
+	private final LatencyHistogram queueWait = new LatencyHistogram();
+
+	// Milliseconds a notification was displayed before it was closed
+	private final LatencyHistogram displayTime = new LatencyHistogram();
+
+	private final AtomicLongArray milestones = new AtomicLongArray(SKILLS.length);
+
+	public void recordStatChanged(long nanos)
+	{
+		statChanged.record(nanos);
+	}
+
+	public void recordMilestones(int skill, int count)
+	{
+		milestones.addAndGet(skill, count);
+	}
+
+	public void recordQueueWait(long millis)
+	{
+		queueWait.record(millis);
+	}
+
+	public void recordDisplayTime(long millis)
+	{
+		displayTime.record(millis);
+	}
+
+	public LatencyHistogram getStatChanged()
+	{
+		return statChanged;
+	}
+
+	public LatencyHistogram getQueueWait()
+	{
+		return queueWait;
+	}
+
+	public LatencyHistogram getDisplayTime()
+	{
+		return displayTime;
+	}
+
+	public long getMilestones(int skill)
+	{
+		return milestones.get(skill);
+	}
+
+	public long getTotalMilestones()
+	{
+		long total = 0;
+
+		for (int skill = 0; skill < SKILLS.length; skill++)
+		{
+			total += milestones.get(skill);
+		}
+
+		return total;
+	}
+
+	/**
+	 * Formats the skills that crossed milestones, e.g. "Attack 3, Slayer 12".
+	 *
+	 * @return String
+	 */
+	public String formatMilestones()
+	{
+		final StringBuilder builder = new StringBuilder();
+
+		for (Skill skill : SKILLS)
+		{
+			final long count = milestones.get(skill.ordinal());
+
+			if (count == 0)
+			{
+				continue;
+			}
+
+			if (builder.length() > 0)
+			{
+				builder.append(", ");
+			}
+
+			builder.append(skill.getName()).append(' ').append(count);
+		}
+
+		return builder.length() == 0 ? "none" : builder.toString();
+	}
+
+	/**
+	 * Formats a histogram of nanoseconds, e.g. "1200 events, mean 150ns, p99 255ns, max 4.1us".
+	 *
+	 * @param histogram LatencyHistogram
+	 * @return String
+	 */
+	public static String formatNanos(LatencyHistogram histogram)
+	{
+		return histogram.getCount() + " events, mean " + formatNanos(histogram.getMean())
+			+ ", p99 " + formatNanos(histogram.getPercentile(99))
+			+ ", max " + formatNanos(histogram.getMax());
+	}
+
+	/**
+	 * Formats a histogram of milliseconds, e.g. "12 events, mean 640ms, p99 1023ms, max 1.2s".
+	 *
+	 * @param histogram LatencyHistogram
+	 * @return String
+	 */
+	public static String formatMillis(LatencyHistogram histogram)
+	{
+		return histogram.getCount() + " events, mean " + formatNanos(TimeUnit.MILLISECONDS.toNanos(histogram.getMean()))
+			+ ", p99 " + formatNanos(TimeUnit.MILLISECONDS.toNanos(histogram.getPercentile(99)))
+			+ ", max " + formatNanos(TimeUnit.MILLISECONDS.toNanos(histogram.getMax()));
+	}
+
+	/**
+	 * Formats a duration, e.g. "850ns", "12.3us" or "1.2s".
+	 *
+	 * @param nanos long
+	 * @return String
+	 */
+	public static String formatNanos(long nanos)
+	{
+		if (nanos < 1_000)
+		{
+			return nanos + "ns";
+		}
+
+		if (nanos < 1_000_000)
+		{
+			return String.format("%.1fus", nanos / 1_000.0);
+		}
+
+		if (nanos < 1_000_000_000)
+		{
+			return String.format("%.1fms", nanos / 1_000_000.0);
+		}
+
+		return String.format("%.1fs", nanos / 1_000_000_000.0);
+	}
+
+	public void reset()
+	{
+		statChanged.reset();
+		queueWait.reset();
+		displayTime.reset();
+
+		for (int skill = 0; skill < SKILLS.length; skill++)
+		{
+			milestones.set(skill, 0);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.antimated.stats;
+
+import com.antimated.notifications.NotificationManager;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import javax.inject.Inject;
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+public class MilestoneStatsOverlay extends OverlayPanel
+{
+	private final MilestoneStats stats;
+
+	private final NotificationManager notifications;
+
+	@Inject
+	private MilestoneStatsOverlay(MilestoneStats stats, NotificationManager notifications)
+	{
+		this.stats = stats;
+		this.notifications = notifications;
+		setPosition(OverlayPosition.TOP_LEFT);
+	}
+
+	@Override
+	public Dimension render(Graphics2D graphics)
+	{
+		final LatencyHistogram statChanged = stats.getStatChanged();
+
+		panelComponent.getChildren().add(TitleComponent.builder()
+			.text("Milestone Levels")
+			.build());
+
+		addLine("Stat changes", Long.toString(statChanged.getCount()));
+		addLine("Handling mean", statChanged.getMean() + "ns");
+		addLine("Handling p99", statChanged.getPercentile(99) + "ns");
+		addLine("Milestones", Long.toString(stats.getTotalMilestones()));
+		addLine("Queued", notifications.getQueueSize() + " (max " + notifications.getQueueHighWaterMark() + ")");
+		addLine("Dropped", Long.toString(notifications.getDroppedCount()));
+		addLine("Expired", Long.toString(notifications.getExpiredCount()));
+		addLine("Queue wait p99", stats.getQueueWait().getPercentile(99) + "ms");
+		addLine("Display p99", stats.getDisplayTime().getPercentile(99) + "ms");
+
+		return super.render(graphics);
+	}
+
+	private void addLine(String left, String right)
+	{
+		panelComponent.getChildren().add(LineComponent.builder()
+			.left(left)
+			.right(right)
+			.build());
+	}
+}
@@ -1,6 +1,6 @@
 package com.antimated.version;
 
-import com.antimated.MilestoneLevelsConfig;
+import com.antimated.state.PluginStateStore;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -8,7 +8,6 @@ import net.runelite.api.ChatMessageType;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.chat.QueuedMessage;
-import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 
@@ -22,9 +21,7 @@ public class VersionManager
 	private ChatMessageManager chatMessageManager;
 
 	@Inject
-	private ConfigManager configManager;
-
-	private final String LAST_UPDATE_MESSAGE_KEY = "lastUpdateMessage";
+	private PluginStateStore store;
 
 	private final String UPDATE_MESSAGE = "Milestone Levels v1.1.0 is here. Enjoy the new XP milestones!";
 
@@ -55,7 +52,7 @@ public class VersionManager
 
 				chatMessageManager.queue(QueuedMessage.builder()
 					.type(ChatMessageType.GAMEMESSAGE)
-					.runeLiteFormattedMessage("<col=ff0000>" + getLastUpdateMessage() + "</col>")
+					.runeLiteFormattedMessage("<col=ff0000>" + UPDATE_MESSAGE + "</col>")
 					.build());
 
 
@@ -65,21 +62,21 @@ public class VersionManager
 
 	private String getLastUpdateMessage()
 	{
-		return configManager.getConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, LAST_UPDATE_MESSAGE_KEY);
+		return store.get(PluginStateStore.LAST_UPDATE_MESSAGE_KEY);
 	}
 
 	private void setLastUpdateMessage()
 	{
-		configManager.setConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, LAST_UPDATE_MESSAGE_KEY, UPDATE_MESSAGE);
+		store.set(PluginStateStore.LAST_UPDATE_MESSAGE_KEY, UPDATE_MESSAGE);
 	}
 
 	public void clearLastUpdateMessage()
 	{
-		configManager.unsetConfiguration(MilestoneLevelsConfig.CONFIG_GROUP, LAST_UPDATE_MESSAGE_KEY);
+		store.unset(PluginStateStore.LAST_UPDATE_MESSAGE_KEY);
 	}
 
 	private boolean hasLastUpdateMessage()
 	{
-		return getLastUpdateMessage() != null && getLastUpdateMessage().equals(UPDATE_MESSAGE);
+		return UPDATE_MESSAGE.equals(getLastUpdateMessage());
 	}
 }
@@ -0,0 +1,337 @@
+package com.antimated.webhook;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Posts milestones to a webhook in batches.
+ * <p>
+ * Milestones added within the batch window of the first one are posted together, so a multi-level jump is a single
+ * request. Requests are enqueued on the OkHttp client and never block the caller. One message is delivered at a time
+ * to keep them in order; a failed one is retried with exponential backoff while the next ones wait in a bounded queue.
+ * When that queue is full the oldest waiting message is dropped.
+ */
+@Slf4j
+final class WebhookClient
+{
+	private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+	private static final int CAPACITY = 16;
+
+	private static final long BASE_DELAY_MS = 1_000;
+
+	private static final long MAX_DELAY_MS = 60_000;
+
+	private static final int MAX_ATTEMPTS = 6;
+
+	private final OkHttpClient okHttpClient;
+
+	private final Gson gson;
+
+	private final ScheduledExecutorService executor;
+
+	private final int capacity;
+
+	private final long baseDelay;
+
+	private final long maxDelay;
+
+	private final int maxAttempts;
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	// Everything below is guarded by this
+
+	private WebhookPayload batch;
+
+	private HttpUrl batchUrl;
+
+	private Future<?> scheduledFlush;
+
+	// Messages waiting for the current one to be delivered
+	private final Deque<Message> waiting = new ArrayDeque<>();
+
+	private Message current;
+
+	private int attempts;
+
+	private Future<?> scheduledRetry;
+
+	private boolean shutDown;
+
+	WebhookClient(OkHttpClient okHttpClient, Gson gson, ScheduledExecutorService executor)
+	{
+		this(okHttpClient, gson, executor, CAPACITY, BASE_DELAY_MS, MAX_DELAY_MS, MAX_ATTEMPTS);
+	}
+
+	/**
+	 * @param capacity    int maximum amount of messages waiting to be delivered
+	 * @param baseDelay   long milliseconds before the first retry, doubled for every next one
+	 * @param maxDelay    long maximum milliseconds between retries
+	 * @param maxAttempts int attempts before a message is given up on
+	 */
+	WebhookClient(OkHttpClient okHttpClient, Gson gson, ScheduledExecutorService executor, int capacity, long baseDelay, long maxDelay, int maxAttempts)
+	{
+		this.okHttpClient = okHttpClient;
+		this.gson = gson;
+		this.executor = executor;
+		this.capacity = capacity;
+		this.baseDelay = baseDelay;
+		this.maxDelay = maxDelay;
+		this.maxAttempts = maxAttempts;
+	}
+
+	/**
+	 * Adds a milestone to the batch of a webhook.
+	 *
+	 * @param url         HttpUrl
+	 * @param title       String plain text
+	 * @param description String plain text
+	 * @param color       int RGB color, or -1 for none
+	 * @param batchWindow long milliseconds to wait for more milestones, 0 to post right away
+	 */
+	synchronized void add(HttpUrl url, String title, String description, int color, long batchWindow)
+	{
+		if (shutDown)
+		{
+			return;
+		}
+
+		// A batch only ever goes to a single webhook
+		if (batch != null && !url.equals(batchUrl))
+		{
+			flush();
+		}
+
+		if (batch == null)
+		{
+			batch = new WebhookPayload();
+			batchUrl = url;
+
+			if (batchWindow > 0)
+			{
+				scheduledFlush = executor.schedule(this::flush, batchWindow, TimeUnit.MILLISECONDS);
+			}
+		}
+
+		batch.embeds.add(new WebhookPayload.Embed(title, description, color));
+
+		if (batchWindow <= 0 || batch.embeds.size() >= WebhookPayload.MAX_EMBEDS)
+		{
+			flush();
+		}
+	}
+
+	/**
+	 * Posts the current batch right away.
+	 */
+	synchronized void flush()
+	{
+		if (scheduledFlush != null)
+		{
+			scheduledFlush.cancel(false);
+			scheduledFlush = null;
+		}
+
+		if (batch == null || shutDown)
+		{
+			return;
+		}
+
+		final Message message = new Message(batchUrl, gson.toJson(batch));
+		batch = null;
+		batchUrl = null;
+
+		if (current == null)
+		{
+			deliver(message);
+			return;
+		}
+
+		if (waiting.size() >= capacity)
+		{
+			waiting.pollFirst();
+			dropped.incrementAndGet();
+			log.debug("Webhook is falling behind, dropped the oldest waiting message");
+		}
+
+		waiting.addLast(message);
+	}
+
+	/**
+	 * Stops posting, anything batched or waiting is discarded.
+	 */
+	synchronized void shutDown()
+	{
+		shutDown = true;
+
+		if (scheduledFlush != null)
+		{
+			scheduledFlush.cancel(false);
+		}
+
+		if (scheduledRetry != null)
+		{
+			scheduledRetry.cancel(false);
+		}
+
+		batch = null;
+		waiting.clear();
+		current = null;
+	}
+
+	/**
+	 * Gets the amount of messages dropped because too many were waiting, or because they kept failing.
+	 *
+	 * @return long
+	 */
+	long getDroppedCount()
+	{
+		return dropped.get();
+	}
+
+	private void deliver(Message message)
+	{
+		current = message;
+		attempts = 0;
+		post(message);
+	}
+
+	private void post(Message message)
+	{
+		final Request request = new Request.Builder()
+			.url(message.url)
+			.post(RequestBody.create(JSON, message.json))
+			.build();
+
+		okHttpClient.newCall(request).enqueue(new Callback()
+		{
+			@Override
+			public void onFailure(Call call, IOException e)
+			{
+				failed(message, e.getMessage(), 0);
+			}
+
+			@Override
+			public void onResponse(Call call, Response response)
+			{
+				try (response)
+				{
+					if (response.isSuccessful())
+					{
+						delivered(message);
+					}
+					else if (response.code() == 429 || response.code() >= 500)
+					{
+						failed(message, "HTTP " + response.code(), retryAfter(response));
+					}
+					else
+					{
+						// The webhook won't ever accept this message, e.g. it was deleted
+						log.warn("Webhook rejected milestones with HTTP {}", response.code());
+						dropped.incrementAndGet();
+						delivered(message);
+					}
+				}
+			}
+		});
+	}
+
+	private synchronized void delivered(Message message)
+	{
+		if (current != message)
+		{
+			return;
+		}
+
+		current = null;
+		final Message next = waiting.pollFirst();
+
+		if (next != null)
+		{
+			deliver(next);
+		}
+	}
+
+	/**
+	 * Retries the current message with exponential backoff, or gives up on it after too many attempts.
+	 *
+	 * @param message    Message
+	 * @param reason     String
+	 * @param retryAfter long milliseconds the webhook asked to wait, 0 when it didn't
+	 */
+	private synchronized void failed(Message message, String reason, long retryAfter)
+	{
+		if (current != message)
+		{
+			return;
+		}
+
+		if (++attempts >= maxAttempts)
+		{
+			log.warn("Giving up on posting milestones to the webhook after {} attempts: {}", attempts, reason);
+			dropped.incrementAndGet();
+			delivered(message);
+			return;
+		}
+
+		final long delay = Math.max(Math.min(baseDelay << (attempts - 1), maxDelay), retryAfter);
+		log.debug("Posting milestones to the webhook failed ({}), retrying in {}ms", reason, delay);
+		scheduledRetry = executor.schedule(() -> retry(message), delay, TimeUnit.MILLISECONDS);
+	}
+
+	private synchronized void retry(Message message)
+	{
+		if (current == message)
+		{
+			post(message);
+		}
+	}
+
+	private static long retryAfter(Response response)
+	{
+		final String retryAfter = response.header("Retry-After");
+
+		if (retryAfter == null)
+		{
+			return 0;
+		}
+
+		try
+		{
+			return (long) (Double.parseDouble(retryAfter) * 1000);
+		}
+		catch (NumberFormatException e)
+		{
+			return 0;
+		}
+	}
+
+	private static final class Message
+	{
+		final HttpUrl url;
+
+		final String json;
+
+		Message(HttpUrl url, String json)
+		{
+			this.url = url;
+			this.json = json;
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.antimated.webhook;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Discord style webhook message, serialized with Gson. Every milestone of a batch is one embed.
+ */
+final class WebhookPayload
+{
+	// Discord rejects messages with more embeds than this
+	static final int MAX_EMBEDS = 10;
+
+	final List<Embed> embeds = new ArrayList<>(MAX_EMBEDS);
+
+	static final class Embed
+	{
+		final String title;
+
+		final String description;
+
+		// Absent when the notification has no color
+		final Integer color;
+
+		Embed(String title, String description, int color)
+		{
+			this.title = title;
+			this.description = description;
+			this.color = color >= 0 ? color & 0xffffff : null;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.antimated.webhook;
+
+import com.antimated.notifications.Notification;
+import com.antimated.notifications.OutputSettings;
+import com.antimated.notifications.RenderingSink;
+import com.google.gson.Gson;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+
+/**
+ * Posts milestones to the configured webhook, batched by {@link WebhookClient}.
+ */
+@Slf4j
+@Singleton
+public class WebhookSink extends RenderingSink
+{
+	@Inject
+	private OkHttpClient okHttpClient;
+
+	@Inject
+	private Gson gson;
+
+	@Inject
+	private ScheduledExecutorService executor;
+
+	private WebhookClient client;
+
+	public void startUp()
+	{
+		log.debug("WebhookSink startUp()");
+		client = new WebhookClient(okHttpClient, gson, executor);
+	}
+
+	public void shutDown()
+	{
+		log.debug("WebhookSink shutDown()");
+		client.shutDown();
+	}
+
+	@Override
+	public String getName()
+	{
+		return "webhook";
+	}
+
+	@Override
+	public boolean isEnabled(OutputSettings outputs)
+	{
+		return outputs.getWebhookUrl() != null;
+	}
+
+	@Override
+	protected void send(Notification notification, OutputSettings outputs)
+	{
+		client.add(outputs.getWebhookUrl(), toPlainText(notification.getTitle()), toPlainText(notification.getText()), notification.getColor(), outputs.getWebhookBatchWindow());
+	}
+
+	public long getDroppedCount()
+	{
+		return client == null ? 0 : client.getDroppedCount();
+	}
+}
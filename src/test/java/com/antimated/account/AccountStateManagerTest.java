@@ -0,0 +1,52 @@
+package com.antimated.account;
+
+import com.antimated.milestones.SkillStateTable;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import org.junit.Test;
+
+public class AccountStateManagerTest
+{
+	@Test
+	public void roundTrip()
+	{
+		final SkillStateTable state = new SkillStateTable(24);
+		state.setXp(0, 13_034_431);
+		state.setXp(23, 0);
+
+		final SkillStateTable restored = new SkillStateTable(24);
+		AccountStateManager.decode(AccountStateManager.encode(state), restored);
+
+		assertEquals(13_034_431, restored.getXp(0));
+		assertEquals(99, restored.getLevel(0));
+		assertEquals(0, restored.getXp(23));
+		assertFalse(restored.isInitialized(5));
+	}
+
+	@Test
+	public void shorterStateLeavesNewSkillsUnknown()
+	{
+		final SkillStateTable state = new SkillStateTable(23);
+		state.setXp(22, 1_000);
+
+		final SkillStateTable restored = new SkillStateTable(24);
+		AccountStateManager.decode(AccountStateManager.encode(state), restored);
+
+		assertEquals(1_000, restored.getXp(22));
+		assertFalse(restored.isInitialized(23));
+	}
+
+	@Test
+	public void malformedStateIsIgnored()
+	{
+		final SkillStateTable restored = new SkillStateTable(24);
+
+		AccountStateManager.decode("not base64!", restored);
+		AccountStateManager.decode("AAAA", restored);
+
+		for (int skill = 0; skill < restored.size(); skill++)
+		{
+			assertEquals(SkillStateTable.UNKNOWN, restored.getXp(skill));
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package com.antimated.eligibility;
+
+import com.antimated.WorldPolicy;
+import net.runelite.client.config.RuneScapeProfileType;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class EligibilityManagerTest
+{
+	@Test
+	public void standardOnlyAllowsStandardWorlds()
+	{
+		assertTrue(EligibilityManager.isAllowed(WorldPolicy.STANDARD, RuneScapeProfileType.STANDARD));
+		assertFalse(EligibilityManager.isAllowed(WorldPolicy.STANDARD, RuneScapeProfileType.RAGING_ECHOES_LEAGUE));
+		assertFalse(EligibilityManager.isAllowed(WorldPolicy.STANDARD, RuneScapeProfileType.DEADMAN));
+	}
+
+	@Test
+	public void leaguesAreOptIn()
+	{
+		assertTrue(EligibilityManager.isAllowed(WorldPolicy.STANDARD_AND_LEAGUES, RuneScapeProfileType.STANDARD));
+		assertTrue(EligibilityManager.isAllowed(WorldPolicy.STANDARD_AND_LEAGUES, RuneScapeProfileType.RAGING_ECHOES_LEAGUE));
+		assertFalse(EligibilityManager.isAllowed(WorldPolicy.STANDARD_AND_LEAGUES, RuneScapeProfileType.BETA));
+	}
+
+	@Test
+	public void allAllowsEveryWorld()
+	{
+		for (RuneScapeProfileType profileType : RuneScapeProfileType.values())
+		{
+			assertTrue(EligibilityManager.isAllowed(WorldPolicy.ALL, profileType));
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package com.antimated.milestones;
+
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MilestoneEngineTest
+{
+	private static final int SKILLS = Skill.values().length;
+
+	private static final int ATTACK = Skill.ATTACK.ordinal();
+
+	private MilestoneSettings settings;
+
+	private MilestoneEngine engine;
+
+	private MilestoneBuffer buffer;
+
+	@Before
+	public void setUp()
+	{
+		settings = MilestoneSettings.builder()
+			.allSkills(SKILLS)
+			.showVirtualLevels(true)
+			.milestones(MilestoneIndex.compile("10, 20, 30, 40, 50, 60, 70, 80, 90, 99", "1000000, 5000000, 200000000"))
+			.build();
+		engine = new MilestoneEngine(SKILLS);
+		buffer = new MilestoneBuffer(1);
+	}
+
+	@Test
+	public void firstUpdateOnlyRecordsXp()
+	{
+		assertEquals(0, engine.update(settings, ATTACK, Experience.getXpForLevel(50), buffer));
+		assertEquals(Experience.getXpForLevel(50), engine.getSkillStates().getXp(ATTACK));
+	}
+
+	@Test
+	public void noCrossing()
+	{
+		engine.update(settings, ATTACK, Experience.getXpForLevel(50), buffer);
+
+		assertEquals(0, engine.update(settings, ATTACK, Experience.getXpForLevel(50) + 100, buffer));
+		assertEquals(0, buffer.size());
+	}
+
+	@Test
+	public void singleLevel()
+	{
+		engine.update(settings, ATTACK, Experience.getXpForLevel(50) - 1, buffer);
+
+		assertEquals(1, engine.update(settings, ATTACK, Experience.getXpForLevel(50), buffer));
+		assertMilestone(0, MilestoneType.LEVEL, 50);
+	}
+
+	@Test
+	public void multiLevelJumpInOrder()
+	{
+		engine.update(settings, ATTACK, 0, buffer);
+
+		assertEquals(12, engine.update(settings, ATTACK, Experience.getXpForLevel(Experience.MAX_REAL_LEVEL), buffer));
+
+		for (int i = 0; i < 10; i++)
+		{
+			assertMilestone(i, MilestoneType.LEVEL, i == 9 ? 99 : (i + 1) * 10);
+		}
+
+		assertMilestone(10, MilestoneType.EXPERIENCE, 1_000_000);
+		assertMilestone(11, MilestoneType.EXPERIENCE, 5_000_000);
+	}
+
+	@Test
+	public void virtualLevels()
+	{
+		engine.update(settings, ATTACK, Experience.getXpForLevel(99), buffer);
+
+		assertEquals(3, engine.update(settings, ATTACK, Experience.getXpForLevel(102), buffer));
+		assertMilestone(0, MilestoneType.VIRTUAL_LEVEL, 100);
+		assertMilestone(1, MilestoneType.VIRTUAL_LEVEL, 101);
+		assertMilestone(2, MilestoneType.VIRTUAL_LEVEL, 102);
+	}
+
+	@Test
+	public void disabledSkillOnlyGetsVirtualLevels()
+	{
+		settings = MilestoneSettings.builder()
+			.showVirtualLevels(true)
+			.milestones(MilestoneIndex.compile("99", "13034431"))
+			.build();
+
+		assertEquals(0, MilestoneEngine.evaluate(settings, ATTACK, 0, Experience.getXpForLevel(99), buffer));
+		assertEquals(1, MilestoneEngine.evaluate(settings, ATTACK, 0, Experience.getXpForLevel(100), buffer));
+		assertMilestone(0, MilestoneType.VIRTUAL_LEVEL, 100);
+	}
+
+	@Test
+	public void disabledSkillReachesVirtualLevelsThroughUpdates()
+	{
+		settings = MilestoneSettings.builder()
+			.showVirtualLevels(true)
+			.milestones(MilestoneIndex.compile("99", "13034431"))
+			.build();
+
+		engine.update(settings, ATTACK, Experience.getXpForLevel(98), buffer);
+
+		assertEquals(Experience.getXpForLevel(100), engine.getSkillStates().getNextThreshold(ATTACK));
+		assertEquals(0, engine.update(settings, ATTACK, Experience.getXpForLevel(99), buffer));
+		assertEquals(0, engine.update(settings, ATTACK, Experience.getXpForLevel(100) - 1, buffer));
+		assertEquals(1, engine.update(settings, ATTACK, Experience.getXpForLevel(100), buffer));
+		assertMilestone(0, MilestoneType.VIRTUAL_LEVEL, 100);
+		assertEquals(1, engine.update(settings, ATTACK, Experience.getXpForLevel(101), buffer));
+		assertMilestone(0, MilestoneType.VIRTUAL_LEVEL, 101);
+	}
+
+	@Test
+	public void thresholdSkipsUntilNextMilestone()
+	{
+		engine.update(settings, ATTACK, Experience.getXpForLevel(51), buffer);
+
+		assertEquals(Experience.getXpForLevel(60), engine.getSkillStates().getNextThreshold(ATTACK));
+	}
+
+	@Test
+	public void experienceDecreaseIsIgnored()
+	{
+		engine.update(settings, ATTACK, 6_000_000, buffer);
+
+		assertEquals(0, engine.update(settings, ATTACK, 10, buffer));
+		assertEquals(0, MilestoneEngine.evaluate(settings, ATTACK, 6_000_000, 10, buffer));
+	}
+
+	@Test
+	public void milestonesBelowAnEarlierHigherXpAreReported()
+	{
+		// E.g. leaving LMS, whose temporary stats are higher than the real ones
+		engine.update(settings, ATTACK, 6_000_000, buffer);
+		engine.update(settings, ATTACK, 10, buffer);
+
+		assertEquals(5, engine.update(settings, ATTACK, Experience.getXpForLevel(50), buffer));
+
+		for (int i = 0; i < 5; i++)
+		{
+			assertMilestone(i, MilestoneType.LEVEL, (i + 1) * 10);
+		}
+	}
+
+	private void assertMilestone(int index, MilestoneType type, int value)
+	{
+		assertEquals(type, buffer.getType(index));
+		assertEquals(value, buffer.getValue(index));
+	}
+}
@@ -0,0 +1,45 @@
+package com.antimated.milestones;
+
+import net.runelite.api.Skill;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class MilestoneIndexTest
+{
+	private static final int ATTACK = Skill.ATTACK.ordinal();
+
+	private static final int SLAYER = Skill.SLAYER.ordinal();
+
+	private static final int MINING = Skill.MINING.ordinal();
+
+	@Test
+	public void overridesReplaceGlobalMilestones()
+	{
+		final MilestoneIndex index = MilestoneIndex.compile("10, 20, 99", "every 10000000", "Slayer: every 1\nattack : 99\nSlayer xp: every 1000000");
+
+		assertEquals(51, index.nextLevel(SLAYER, 50));
+		assertEquals(99, index.nextLevel(ATTACK, 1));
+		assertEquals(20, index.nextLevel(MINING, 10));
+
+		assertEquals(2_000_000, index.nextExperience(SLAYER, 1_000_000));
+		assertEquals(10_000_000, index.nextExperience(ATTACK, 1_000_000));
+	}
+
+	@Test
+	public void skillsWithoutOverrideShareGlobalMilestones()
+	{
+		final MilestoneIndex index = MilestoneIndex.compile("99", "200000000", "Slayer: every 1");
+
+		assertSame(index.getLevels(ATTACK), index.getLevels(MINING));
+		assertSame(index.getExperience(ATTACK), index.getExperience(SLAYER));
+	}
+
+	@Test
+	public void unknownSkillsAreIgnored()
+	{
+		final MilestoneIndex index = MilestoneIndex.compile("99", "", "Dungeoneering: every 1\nno separator");
+
+		assertEquals(99, index.nextLevel(ATTACK, 1));
+	}
+}
@@ -0,0 +1,104 @@
+package com.antimated.milestones;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class MilestoneRulesTest
+{
+	private static final int MAX_XP = 200_000_000;
+
+	@Test
+	public void everyLevel()
+	{
+		final MilestoneRules rules = MilestoneRules.compile("every 1", 1, 99);
+
+		assertArrayEquals(new int[]{50, 51, 52}, crossed(rules, 49, 52));
+		assertEquals(MilestoneRules.NONE, rules.next(99));
+	}
+
+	@Test
+	public void rangeWithStep()
+	{
+		final MilestoneRules rules = MilestoneRules.compile("10-99 step 5", 1, 99);
+
+		assertArrayEquals(new int[]{10, 15, 20}, crossed(rules, 1, 24));
+		assertArrayEquals(new int[]{95}, crossed(rules, 90, 99));
+	}
+
+	@Test
+	public void everyXp()
+	{
+		final MilestoneRules rules = MilestoneRules.compile("every 5000000 xp", 1, MAX_XP);
+
+		assertArrayEquals(new int[]{5_000_000, 10_000_000}, crossed(rules, 4_999_999, 12_000_000));
+		assertEquals(200_000_000, rules.next(199_999_999));
+		assertEquals(MilestoneRules.NONE, rules.next(MAX_XP));
+	}
+
+	@Test
+	public void mixedTermsAreMergedAndDeduplicated()
+	{
+		final MilestoneRules rules = MilestoneRules.compile("50,60,70-99, 75, 60", 1, 99);
+
+		assertArrayEquals(new int[]{50, 60, 70, 71}, crossed(rules, 1, 71));
+	}
+
+	@Test
+	public void enumeratedListCollapsesIntoOneRule()
+	{
+		final StringBuilder list = new StringBuilder();
+
+		for (int level = 2; level <= 99; level++)
+		{
+			list.append(level).append(", ");
+		}
+
+		final MilestoneRules rules = MilestoneRules.compile(list.toString(), 1, 99);
+
+		assertEquals(1, rules.size());
+		assertEquals("2-99", rules.toString());
+	}
+
+	@Test
+	public void invalidTermsAreIgnored()
+	{
+		final MilestoneRules rules = MilestoneRules.compile("abc, 0, 100, 99999999999, 5-1, 1-10 step 0, 99", 1, 99);
+
+		assertEquals("99", rules.toString());
+		assertTrue(MilestoneRules.compile("", 1, 99).isEmpty());
+	}
+
+	@Test
+	public void levelSetMatchesRules()
+	{
+		final LevelSet levels = LevelSet.of(MilestoneRules.compile("10-90 step 10, 99", 1, 99));
+
+		assertEquals(10, levels.size());
+		assertEquals(10, levels.next(0));
+		assertEquals(70, levels.next(60));
+		assertEquals(99, levels.next(90));
+		assertEquals(MilestoneRules.NONE, levels.next(99));
+		assertTrue(levels.contains(50));
+	}
+
+	private static int[] crossed(MilestoneRules rules, int from, int to)
+	{
+		final MilestoneBuffer buffer = new MilestoneBuffer();
+
+		for (int value = rules.next(from); value <= to; value = rules.next(value))
+		{
+			buffer.add(MilestoneType.LEVEL, value);
+		}
+
+		final int[] values = new int[buffer.size()];
+
+		for (int i = 0; i < values.length; i++)
+		{
+			values[i] = buffer.getValue(i);
+		}
+
+		return values;
+	}
+}
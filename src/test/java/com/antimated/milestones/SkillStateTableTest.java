@@ -0,0 +1,138 @@
+package com.antimated.milestones;
+
+import java.lang.management.ManagementFactory;
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Test;
+
+public class SkillStateTableTest
+{
+	private static final int SKILLS = Skill.values().length;
+
+	@Test
+	public void unknownUntilRecorded()
+	{
+		SkillStateTable table = new SkillStateTable(SKILLS);
+
+		assertFalse(table.isInitialized(Skill.SLAYER.ordinal()));
+		assertEquals(SkillStateTable.UNKNOWN, table.getXp(Skill.SLAYER.ordinal()));
+		assertEquals(SkillStateTable.UNKNOWN, table.getLevel(Skill.SLAYER.ordinal()));
+
+		table.setXp(Skill.SLAYER.ordinal(), Experience.getXpForLevel(50));
+
+		assertTrue(table.isInitialized(Skill.SLAYER.ordinal()));
+		assertEquals(Experience.getXpForLevel(50), table.getXp(Skill.SLAYER.ordinal()));
+		assertEquals(50, table.getLevel(Skill.SLAYER.ordinal()));
+
+		table.clear();
+
+		assertFalse(table.isInitialized(Skill.SLAYER.ordinal()));
+		assertEquals(SkillStateTable.UNKNOWN, table.getXp(Skill.SLAYER.ordinal()));
+	}
+
+	@Test
+	public void levelFollowsXp()
+	{
+		SkillStateTable table = new SkillStateTable(SKILLS);
+		int skill = Skill.ATTACK.ordinal();
+
+		table.setXp(skill, 0);
+		assertEquals(1, table.getLevel(skill));
+
+		table.setXp(skill, Experience.getXpForLevel(2) - 1);
+		assertEquals(1, table.getLevel(skill));
+
+		table.setXp(skill, Experience.getXpForLevel(99));
+		assertEquals(99, table.getLevel(skill));
+
+		table.setXp(skill, Experience.MAX_SKILL_XP);
+		assertEquals(Experience.MAX_VIRT_LEVEL, table.getLevel(skill));
+	}
+
+	@Test
+	public void levelFollowsDecreasingXp()
+	{
+		SkillStateTable table = new SkillStateTable(SKILLS);
+		int skill = Skill.ATTACK.ordinal();
+
+		// E.g. leaving LMS, or ::setstats down and up again
+		table.setXp(skill, Experience.getXpForLevel(99));
+		table.setXp(skill, 10);
+		assertEquals(1, table.getLevel(skill));
+
+		table.setXp(skill, Experience.getXpForLevel(50));
+		assertEquals(50, table.getLevel(skill));
+
+		table.setXp(skill, Experience.getXpForLevel(50) - 1);
+		assertEquals(49, table.getLevel(skill));
+	}
+
+	@Test
+	public void thresholdGatesRecording()
+	{
+		SkillStateTable table = new SkillStateTable(SKILLS);
+		int skill = Skill.MINING.ordinal();
+
+		// Thresholds start invalidated, so the first update always needs a full evaluation
+		assertFalse(table.recordIfBelowThreshold(skill, 100));
+
+		table.setXp(skill, 100);
+		table.setNextThreshold(skill, 1000);
+
+		assertTrue(table.recordIfBelowThreshold(skill, 999));
+		assertEquals(999, table.getXp(skill));
+
+		assertFalse(table.recordIfBelowThreshold(skill, 1000));
+		assertEquals(999, table.getXp(skill));
+
+		// A decrease needs its threshold computed again
+		assertFalse(table.recordIfBelowThreshold(skill, 500));
+		assertEquals(999, table.getXp(skill));
+
+		table.invalidateThresholds();
+		assertFalse(table.recordIfBelowThreshold(skill, 999));
+	}
+
+	@Test
+	public void recordingDoesNotAllocate()
+	{
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		SkillStateTable table = new SkillStateTable(SKILLS);
+
+		for (int skill = 0; skill < SKILLS; skill++)
+		{
+			table.setXp(skill, 1_000_000);
+			table.setNextThreshold(skill, Experience.MAX_SKILL_XP);
+		}
+
+		// Warm up so the measured loop runs compiled code
+		simulateStatChanges(table, 200_000);
+
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		simulateStatChanges(table, 1_000_000);
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+		// A boxed xp value per update would be well over 10MB, leave some room for the measurement itself.
+		assertTrue("Allocated " + allocated + " bytes recording stat changes", allocated < 1024);
+	}
+
+	private static void simulateStatChanges(SkillStateTable table, int count)
+	{
+		for (int i = 0; i < count; i++)
+		{
+			int skill = i % SKILLS;
+			table.recordIfBelowThreshold(skill, table.getXp(skill) + 25);
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.antimated.milestones;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class StatChangeBatchTest
+{
+	@Test
+	public void pollsSkillsInOrderWithLatestXp()
+	{
+		final StatChangeBatch batch = new StatChangeBatch(24);
+
+		batch.record(20, 500);
+		batch.record(3, 100);
+		batch.record(20, 750);
+
+		assertEquals(3, batch.poll());
+		assertEquals(100, batch.getXp(3));
+		assertEquals(20, batch.poll());
+		assertEquals(750, batch.getXp(20));
+		assertEquals(-1, batch.poll());
+		assertTrue(batch.isEmpty());
+	}
+
+	@Test
+	public void clearDropsRecordedSkills()
+	{
+		final StatChangeBatch batch = new StatChangeBatch(24);
+
+		batch.record(0, 100);
+		batch.clear();
+
+		assertTrue(batch.isEmpty());
+		assertEquals(-1, batch.poll());
+	}
+}
@@ -0,0 +1,49 @@
+package com.antimated.milestones;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class StatChangeRingTest
+{
+	@Test
+	public void capacityIsRoundedUpToPowerOfTwo()
+	{
+		assertEquals(8, new StatChangeRing(5).capacity());
+		assertEquals(8, new StatChangeRing(8).capacity());
+	}
+
+	@Test
+	public void pollsInOfferOrderAcrossWrapAround()
+	{
+		final StatChangeRing ring = new StatChangeRing(4);
+		final int[] entry = new int[StatChangeRing.STRIDE];
+
+		for (int i = 0; i < 10; i++)
+		{
+			assertTrue(ring.offer(i % 24, i, i + 1, 100 + i));
+			assertTrue(ring.poll(entry));
+			assertArrayEquals(new int[]{i % 24, i, i + 1, 100 + i}, entry);
+		}
+
+		assertTrue(ring.isEmpty());
+		assertFalse(ring.poll(entry));
+	}
+
+	@Test
+	public void rejectsWhenFull()
+	{
+		final StatChangeRing ring = new StatChangeRing(2);
+		final int[] entry = new int[StatChangeRing.STRIDE];
+
+		assertTrue(ring.offer(0, 0, 1, 0));
+		assertTrue(ring.offer(1, 0, 1, 0));
+		assertFalse(ring.offer(2, 0, 1, 0));
+
+		assertTrue(ring.poll(entry));
+		assertEquals(0, entry[StatChangeRing.SKILL]);
+		assertTrue(ring.offer(2, 0, 1, 0));
+	}
+}
@@ -0,0 +1,60 @@
+package com.antimated.notifications;
+
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class MilestoneFactTest
+{
+	private static final int SAILING = Skill.values().length - 1;
+
+	@Test
+	public void levelRoundTrip()
+	{
+		final long fact = MilestoneFact.level(SAILING, 126, NotificationPriority.NORMAL, 2_376);
+
+		assertEquals(MilestoneFact.LEVEL, MilestoneFact.getKind(fact));
+		assertEquals(SAILING, MilestoneFact.getSkill(fact));
+		assertEquals(126, MilestoneFact.getValue(fact));
+		assertEquals(NotificationPriority.NORMAL, MilestoneFact.getPriority(fact));
+		assertEquals(2_376, MilestoneFact.getTotalLevel(fact));
+	}
+
+	@Test
+	public void experienceKeepsMaxXp()
+	{
+		final long fact = MilestoneFact.experience(0, Experience.MAX_SKILL_XP, NotificationPriority.HIGH, 32);
+
+		assertEquals(MilestoneFact.EXPERIENCE, MilestoneFact.getKind(fact));
+		assertEquals(Experience.MAX_SKILL_XP, MilestoneFact.getValue(fact));
+		assertEquals(NotificationPriority.HIGH, MilestoneFact.getPriority(fact));
+	}
+
+	@Test
+	public void summaryCapsCount()
+	{
+		final long fact = MilestoneFact.summary(3, 1, 13_034_431, 300, NotificationPriority.HIGH, 100);
+
+		assertEquals(MilestoneFact.SUMMARY, MilestoneFact.getKind(fact));
+		assertEquals(3, MilestoneFact.getSkill(fact));
+		assertEquals(1, MilestoneFact.getFromLevel(fact));
+		assertEquals(13_034_431, MilestoneFact.getValue(fact));
+		assertEquals(255, MilestoneFact.getCount(fact));
+		assertEquals(100, MilestoneFact.getTotalLevel(fact));
+	}
+
+	@Test
+	public void catchUpRoundTrip()
+	{
+		final long fact = MilestoneFact.catchUp(5, 40, 99, 1_000, 23, NotificationPriority.HIGH, 1_800);
+
+		assertEquals(MilestoneFact.CATCH_UP, MilestoneFact.getKind(fact));
+		assertEquals(5, MilestoneFact.getSkill(fact));
+		assertEquals(40, MilestoneFact.getFromLevel(fact));
+		assertEquals(99, MilestoneFact.getCatchUpLevel(fact));
+		assertEquals(1_000, MilestoneFact.getCatchUpMilestones(fact));
+		assertEquals(23, MilestoneFact.getCount(fact));
+		assertEquals(1_800, MilestoneFact.getTotalLevel(fact));
+	}
+}
@@ -0,0 +1,105 @@
+package com.antimated.notifications;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class NotificationRingTest
+{
+	@Test
+	public void drainsInOfferOrder()
+	{
+		final NotificationRing ring = new NotificationRing(4, false, () -> 100);
+		final List<Long> facts = new ArrayList<>();
+
+		ring.offer(1);
+		ring.offer(2);
+
+		assertEquals(2, ring.drainTo((fact, createdAt) ->
+		{
+			facts.add(fact);
+			assertEquals(100, createdAt);
+		}));
+		assertEquals(List.of(1L, 2L), facts);
+		assertTrue(ring.isEmpty());
+	}
+
+	@Test
+	public void rejectsNewestWhenFull()
+	{
+		final NotificationRing ring = new NotificationRing(2, false);
+
+		assertTrue(ring.offer(1));
+		assertTrue(ring.offer(2));
+		assertFalse(ring.offer(3));
+		assertEquals(1, ring.getRejectedCount());
+
+		// Draining frees the slots for the next lap
+		assertEquals(1, ring.drainTo((fact, createdAt) -> assertEquals(1, fact), 1));
+		assertTrue(ring.offer(4));
+
+		final List<Long> facts = new ArrayList<>();
+		ring.drainTo((fact, createdAt) -> facts.add(fact));
+		assertEquals(List.of(2L, 4L), facts);
+	}
+
+	@Test
+	public void multipleProducersKeepTheirOwnOrder() throws InterruptedException
+	{
+		final int producers = 4;
+		final int perProducer = 10_000;
+		final NotificationRing ring = new NotificationRing(64, true);
+		final CountDownLatch start = new CountDownLatch(1);
+		final Thread[] threads = new Thread[producers];
+
+		for (int p = 0; p < producers; p++)
+		{
+			final long producer = (long) p << 32;
+			threads[p] = new Thread(() ->
+			{
+				try
+				{
+					start.await();
+				}
+				catch (InterruptedException e)
+				{
+					return;
+				}
+
+				for (int i = 0; i < perProducer; i++)
+				{
+					while (!ring.offer(producer | i))
+					{
+						Thread.yield();
+					}
+				}
+			});
+			threads[p].start();
+		}
+
+		final int[] next = new int[producers];
+		int drained = 0;
+		start.countDown();
+
+		while (drained < producers * perProducer)
+		{
+			drained += ring.drainTo((fact, createdAt) -> assertEquals(next[(int) (fact >>> 32)]++, (int) fact));
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		for (int p = 0; p < producers; p++)
+		{
+			assertEquals(perProducer, next[p]);
+		}
+
+		assertTrue(ring.isEmpty());
+	}
+}
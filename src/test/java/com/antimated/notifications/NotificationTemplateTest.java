@@ -0,0 +1,69 @@
+package com.antimated.notifications;
+
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+import net.runelite.client.util.QuantityFormatter;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class NotificationTemplateTest
+{
+	private final StringBuilder buffer = new StringBuilder();
+
+	@Test
+	public void longestPlaceholderWins()
+	{
+		final int xp = Experience.getXpForLevel(50);
+		final String toNext = QuantityFormatter.formatNumber(Experience.getXpForLevel(51) - xp);
+
+		assertEquals(toNext + " xp to 51", render("$xpToNext xp to $nextLevel", 50, xp));
+		assertEquals(QuantityFormatter.formatNumber(xp) + "ToNex", render("$xpToNex", 50, xp));
+		assertEquals(QuantityFormatter.formatNumber(xp) + " " + toNext, render("$xp $xpToNext", 50, xp));
+		assertEquals("Attack 50 1500", render("$skill $level $totalLevel", 50, xp));
+	}
+
+	@Test
+	public void unknownTokensAreKeptAsIs()
+	{
+		assertEquals("$foo costs $5", render("$foo costs $5", 50, 0));
+		assertEquals("Level 50$", render("Level $level$", 50, 0));
+		assertEquals("$", render("$", 50, 0));
+		assertEquals("$$Attack", render("$$$skill", 50, 0));
+	}
+
+	@Test
+	public void literalsAreEscaped()
+	{
+		assertEquals("<lt>b<gt>Attack<lt>/b<gt>", render("<b>$skill</b>", 50, 0));
+	}
+
+	@Test
+	public void emptyTemplates()
+	{
+		assertEquals("", NotificationTemplate.compile(null).render(buffer, Skill.ATTACK, 50, 0, 1500));
+		assertEquals("", render("", 50, 0));
+	}
+
+	@Test
+	public void numbersMatchQuantityFormatter()
+	{
+		final int[] values = {0, 7, 99, 999, 1_000, 1_001, 10_010, 65_536, 100_000, 999_999, 1_000_000, 1_000_999,
+			13_034_431, 200_000_000, Integer.MAX_VALUE};
+
+		for (int value : values)
+		{
+			assertEquals(QuantityFormatter.formatNumber(value), render("$xp", 1, value));
+		}
+	}
+
+	@Test
+	public void xpToNextStopsAtTheLastVirtualLevel()
+	{
+		assertEquals("0 126", render("$xpToNext $nextLevel", Experience.MAX_VIRT_LEVEL, 200_000_000));
+	}
+
+	private String render(String template, int level, int xp)
+	{
+		return NotificationTemplate.compile(template).render(buffer, Skill.ATTACK, level, xp, 1500);
+	}
+}
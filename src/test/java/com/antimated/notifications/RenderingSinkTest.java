@@ -0,0 +1,14 @@
+package com.antimated.notifications;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class RenderingSinkTest
+{
+	@Test
+	public void plainTextUnescapesAfterRemovingTags()
+	{
+		assertEquals("Attack 50 -> 60 (2 milestones)", RenderingSink.toPlainText("<col=ff0000>Attack</col> 50 -<gt> 60 (2 milestones)"));
+		assertEquals("<b>", RenderingSink.toPlainText("<lt>b<gt>"));
+	}
+}
@@ -0,0 +1,94 @@
+package com.antimated.notifications;
+
+import com.antimated.milestones.MilestoneSettings;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class SinkWorkerTest
+{
+	private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+	private final List<Long> sent = new ArrayList<>();
+
+	@Test
+	public void schedulesOneDrainAtATime()
+	{
+		final SinkWorker worker = new SinkWorker(new RecordingSink(false), 8, tasks::add, () -> MilestoneSettings.DISABLED, () -> OutputSettings.DISABLED);
+
+		worker.send(1, 0, MilestoneSettings.DISABLED, OutputSettings.DISABLED);
+		worker.send(2, 0, MilestoneSettings.DISABLED, OutputSettings.DISABLED);
+		assertEquals(1, tasks.size());
+		assertTrue(sent.isEmpty());
+
+		tasks.poll().run();
+		assertEquals(List.of(1L, 2L), sent);
+
+		// The drain finished, so the next milestone schedules a new one
+		worker.send(3, 0, MilestoneSettings.DISABLED, OutputSettings.DISABLED);
+		assertEquals(1, tasks.size());
+	}
+
+	@Test
+	public void dropsNewestWhileTheSinkFallsBehind()
+	{
+		final SinkWorker worker = new SinkWorker(new RecordingSink(false), 2, tasks::add, () -> MilestoneSettings.DISABLED, () -> OutputSettings.DISABLED);
+
+		worker.send(1, 0, MilestoneSettings.DISABLED, OutputSettings.DISABLED);
+		worker.send(2, 0, MilestoneSettings.DISABLED, OutputSettings.DISABLED);
+		worker.send(3, 0, MilestoneSettings.DISABLED, OutputSettings.DISABLED);
+		assertEquals(1, worker.getDroppedCount());
+
+		tasks.poll().run();
+		assertEquals(List.of(1L, 2L), sent);
+	}
+
+	@Test
+	public void keepsDeliveringAfterAFailure()
+	{
+		final SinkWorker worker = new SinkWorker(new RecordingSink(true), 8, tasks::add, () -> MilestoneSettings.DISABLED, () -> OutputSettings.DISABLED);
+
+		worker.send(1, 0, MilestoneSettings.DISABLED, OutputSettings.DISABLED);
+		worker.send(2, 0, MilestoneSettings.DISABLED, OutputSettings.DISABLED);
+		tasks.poll().run();
+
+		assertEquals(List.of(1L, 2L), sent);
+	}
+
+	private class RecordingSink implements NotificationSink
+	{
+		private final boolean failing;
+
+		RecordingSink(boolean failing)
+		{
+			this.failing = failing;
+		}
+
+		@Override
+		public String getName()
+		{
+			return "recording";
+		}
+
+		@Override
+		public boolean isEnabled(OutputSettings outputs)
+		{
+			return true;
+		}
+
+		@Override
+		public void send(long fact, long createdAt, MilestoneSettings settings, OutputSettings outputs)
+		{
+			sent.add(fact);
+
+			if (failing)
+			{
+				throw new IllegalStateException("Sink failed");
+			}
+		}
+	}
+}
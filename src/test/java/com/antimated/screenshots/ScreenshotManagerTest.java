@@ -0,0 +1,50 @@
+package com.antimated.screenshots;
+
+import com.antimated.notifications.MilestoneFact;
+import com.antimated.notifications.NotificationPriority;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import net.runelite.api.Skill;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ScreenshotManagerTest
+{
+	private static final LocalDateTime CAPTURED_AT = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+
+	@Test
+	public void namesScreenshotsAfterTheirMilestone()
+	{
+		assertEquals("Attack 99 2024-01-02_03-04-05.png",
+			ScreenshotManager.fileName(MilestoneFact.level(Skill.ATTACK.ordinal(), 99, NotificationPriority.HIGH, 1500), CAPTURED_AT));
+		assertEquals("Mining 200000000 xp 2024-01-02_03-04-05.png",
+			ScreenshotManager.fileName(MilestoneFact.experience(Skill.MINING.ordinal(), 200_000_000, NotificationPriority.HIGH, 1500), CAPTURED_AT));
+	}
+
+	@Test
+	public void writesTheCopiedPixels() throws Exception
+	{
+		final BufferedImage frame = new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB);
+		frame.setRGB(0, 0, 0xff0000);
+		frame.setRGB(1, 1, 0x00ff00);
+
+		final int[] pixels = ScreenshotManager.copyPixels(frame);
+		final File file = new File(Files.createTempDirectory("milestones").toFile(), "account/Milestones/frame.png");
+		final ScreenshotWriter writer = new ScreenshotWriter(4);
+
+		writer.write(pixels, 2, 2, file);
+		writer.shutDown();
+		assertTrue(writer.awaitTermination(10, TimeUnit.SECONDS));
+
+		final BufferedImage written = ImageIO.read(file);
+		assertEquals(0xff0000, written.getRGB(0, 0) & 0xffffff);
+		assertEquals(0x00ff00, written.getRGB(1, 1) & 0xffffff);
+		assertEquals(0, written.getRGB(1, 0) & 0xffffff);
+		assertEquals(0, writer.getDroppedCount());
+	}
+}
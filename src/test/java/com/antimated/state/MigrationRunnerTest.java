@@ -0,0 +1,31 @@
+package com.antimated.state;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class MigrationRunnerTest
+{
+	@Test
+	public void freshConfigStartsAtZero()
+	{
+		assertEquals(0, MigrationRunner.schemaVersion(null, null));
+	}
+
+	@Test
+	public void legacyMigratedKeyIsVersionOne()
+	{
+		assertEquals(1, MigrationRunner.schemaVersion(null, "1"));
+	}
+
+	@Test
+	public void schemaVersionWins()
+	{
+		assertEquals(3, MigrationRunner.schemaVersion("3", "1"));
+	}
+
+	@Test
+	public void malformedSchemaVersionFallsBack()
+	{
+		assertEquals(1, MigrationRunner.schemaVersion("x", "1"));
+	}
+}
@@ -0,0 +1,144 @@
+package com.antimated.webhook;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class WebhookClientTest
+{
+	private final Gson gson = new Gson();
+
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+	private final List<JsonObject> received = new CopyOnWriteArrayList<>();
+
+	private HttpServer server;
+
+	private WebhookClient client;
+
+	@After
+	public void tearDown()
+	{
+		if (client != null)
+		{
+			client.shutDown();
+		}
+
+		executor.shutdownNow();
+
+		if (server != null)
+		{
+			server.stop(0);
+		}
+	}
+
+	@Test
+	public void batchesMilestonesWithinTheWindow() throws Exception
+	{
+		final HttpUrl url = start(() -> 204);
+		client = new WebhookClient(new OkHttpClient(), gson, executor);
+
+		client.add(url, "Level milestone", "Gained level 97 in Attack!", 0xff0000, 200);
+		client.add(url, "Level milestone", "Gained level 98 in Attack!", 0xff0000, 200);
+		client.add(url, "Level milestone", "Gained level 99 in Attack!", 0xff0000, 200);
+
+		awaitRequests(1);
+		Thread.sleep(100);
+
+		assertEquals(1, received.size());
+		assertEquals(3, received.get(0).getAsJsonArray("embeds").size());
+		assertEquals("Gained level 99 in Attack!", received.get(0).getAsJsonArray("embeds").get(2).getAsJsonObject().get("description").getAsString());
+		assertEquals(0xff0000, received.get(0).getAsJsonArray("embeds").get(0).getAsJsonObject().get("color").getAsInt());
+	}
+
+	@Test
+	public void retriesServerErrorsWithBackoff() throws Exception
+	{
+		final AtomicInteger responses = new AtomicInteger();
+		final HttpUrl url = start(() -> responses.incrementAndGet() <= 2 ? 500 : 204);
+		client = new WebhookClient(new OkHttpClient(), gson, executor, 4, 10, 100, 5);
+
+		client.add(url, "XP milestone", "Reached 200,000,000 xp in Mining!", -1, 0);
+
+		awaitRequests(3);
+		Thread.sleep(100);
+
+		assertEquals(3, received.size());
+		assertEquals(0, client.getDroppedCount());
+	}
+
+	@Test
+	public void dropsTheOldestWaitingMessageWhenFull() throws Exception
+	{
+		final HttpUrl url = start(() -> 500);
+		client = new WebhookClient(new OkHttpClient(), gson, executor, 1, 60_000, 60_000, 5);
+
+		// The first message is being delivered, the second waits until the third takes its place
+		client.add(url, "Level milestone", "1", -1, 0);
+		client.add(url, "Level milestone", "2", -1, 0);
+		client.add(url, "Level milestone", "3", -1, 0);
+
+		assertEquals(1, client.getDroppedCount());
+	}
+
+	@Test
+	public void givesUpAfterTooManyAttempts() throws Exception
+	{
+		final HttpUrl url = start(() -> 503);
+		client = new WebhookClient(new OkHttpClient(), gson, executor, 4, 1, 1, 3);
+
+		client.add(url, "Level milestone", "Gained level 99 in Attack!", -1, 0);
+
+		awaitRequests(3);
+		final long deadline = System.currentTimeMillis() + 5_000;
+
+		while (client.getDroppedCount() == 0 && System.currentTimeMillis() < deadline)
+		{
+			Thread.sleep(10);
+		}
+
+		assertEquals(3, received.size());
+		assertEquals(1, client.getDroppedCount());
+	}
+
+	private HttpUrl start(IntSupplier status) throws IOException
+	{
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/webhook", exchange ->
+		{
+			final String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+			received.add(gson.fromJson(body, JsonObject.class));
+			exchange.sendResponseHeaders(status.getAsInt(), -1);
+			exchange.close();
+		});
+		server.start();
+		return HttpUrl.parse("http://127.0.0.1:" + server.getAddress().getPort() + "/webhook");
+	}
+
+	private void awaitRequests(int count) throws InterruptedException
+	{
+		final long deadline = System.currentTimeMillis() + 5_000;
+
+		while (received.size() < count && System.currentTimeMillis() < deadline)
+		{
+			Thread.sleep(10);
+		}
+
+		assertTrue("Expected " + count + " requests, got " + received.size(), received.size() >= count);
+	}
+}